@@ -0,0 +1,34 @@
+package com.hs.lab3.authservice.benchmark;
+
+import com.hs.lab3.authservice.model.AuthUserView;
+import com.hs.lab3.authservice.model.Role;
+import com.hs.lab3.authservice.repository.InMemorySigningKeyStore;
+import com.hs.lab3.authservice.service.JwtProvider;
+import com.hs.lab3.authservice.service.SigningKeyRing;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Set;
+
+final class AuthFixtures {
+    static final AuthUserView USER = new AuthUserView(
+            "benchmark",
+            "not-used",
+            "bench@mark.io",
+            "Bench",
+            Set.of(Role.VIEWER, Role.REDACTOR));
+
+    private static final String REFRESH_SECRET = Base64.getEncoder()
+            .encodeToString("benchmark-refresh-secret-benchmark-refresh-secret".getBytes());
+
+    private AuthFixtures() {
+    }
+
+    static JwtProvider jwtProvider() {
+        final SigningKeyRing signingKeyRing = new SigningKeyRing(
+                new InMemorySigningKeyStore(), Duration.ofDays(1), Duration.ofHours(1),
+                Duration.ofMinutes(10), Duration.ofMinutes(1), Duration.ofSeconds(10));
+        return new JwtProvider(signingKeyRing, new SimpleMeterRegistry(), REFRESH_SECRET);
+    }
+}
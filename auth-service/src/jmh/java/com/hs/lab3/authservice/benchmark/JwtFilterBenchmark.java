@@ -0,0 +1,55 @@
+package com.hs.lab3.authservice.benchmark;
+
+import com.hs.lab3.authservice.filter.JwtFilter;
+import com.hs.lab3.authservice.repository.InMemoryRevokedTokenStore;
+import com.hs.lab3.authservice.service.AccessTokenRevocationList;
+import com.hs.lab3.authservice.service.JwtProvider;
+import com.hs.lab3.authservice.service.VerifiedTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JwtFilter#doFilter} for a client that keeps sending the same access token,
+ * i.e. the verified-token cache hit path followed by the revocation check. {@code cacheSize = 0} measures full verification on every request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JwtFilterBenchmark {
+    private static final FilterChain NOOP_CHAIN = (request, response) -> { };
+
+    @Param({"10000", "0"})
+    public long cacheSize;
+
+    private JwtFilter jwtFilter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        final JwtProvider jwtProvider = AuthFixtures.jwtProvider();
+        final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        final AccessTokenRevocationList revocationList =
+                new AccessTokenRevocationList(new InMemoryRevokedTokenStore(), meterRegistry, 10_000);
+        jwtFilter = new JwtFilter(new VerifiedTokenCache(jwtProvider, meterRegistry, cacheSize), revocationList, meterRegistry);
+        request = new MockHttpServletRequest("GET", "/api/auth/add-role");
+        request.addHeader("Authorization", "Bearer " + jwtProvider.generateAccessToken(AuthFixtures.USER));
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Object doFilter() throws ServletException, IOException {
+        jwtFilter.doFilter(request, response, NOOP_CHAIN);
+        final Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
@@ -0,0 +1,48 @@
+package com.hs.lab3.authservice.benchmark;
+
+import com.hs.lab3.authservice.service.JwtProvider;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JwtProviderBenchmark {
+    private JwtProvider jwtProvider;
+    private String accessToken;
+    private String refreshToken;
+
+    @Setup
+    public void setUp() {
+        jwtProvider = AuthFixtures.jwtProvider();
+        accessToken = jwtProvider.generateAccessToken(AuthFixtures.USER);
+        refreshToken = jwtProvider.generateRefreshToken(AuthFixtures.USER);
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return jwtProvider.generateAccessToken(AuthFixtures.USER);
+    }
+
+    @Benchmark
+    public String generateRefreshToken() {
+        return jwtProvider.generateRefreshToken(AuthFixtures.USER);
+    }
+
+    @Benchmark
+    public boolean validateAccessToken() {
+        return jwtProvider.validateAccessToken(accessToken);
+    }
+
+    @Benchmark
+    public boolean validateRefreshToken() {
+        return jwtProvider.validateRefreshToken(refreshToken);
+    }
+
+    @Benchmark
+    public Claims getAccessClaims() {
+        return jwtProvider.getAccessClaims(accessToken);
+    }
+}
@@ -0,0 +1,33 @@
+package com.hs.lab3.authservice.benchmark;
+
+import com.hs.lab3.authservice.jwt.JwtAuthentication;
+import com.hs.lab3.authservice.jwt.JwtUtils;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JwtUtilsBenchmark {
+    private Claims claims;
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        final var jwtProvider = AuthFixtures.jwtProvider();
+        accessToken = jwtProvider.generateAccessToken(AuthFixtures.USER);
+        claims = jwtProvider.getAccessClaims(accessToken);
+    }
+
+    @Benchmark
+    public JwtAuthentication generate() {
+        return JwtUtils.generate(claims);
+    }
+
+    @Benchmark
+    public String digest() {
+        return JwtUtils.digest(accessToken);
+    }
+}
@@ -0,0 +1,195 @@
+package com.hs.lab3.authservice.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop load test of {@code /api/auth/login} and {@code /api/auth/refresh} against a running auth-service.
+ * Each worker logs in, refreshes the received token and repeats until the duration is over.
+ * Only successful calls count towards throughput and latency; failures are reported by status and fail the run.
+ * <p>
+ * All workers log in as one account from one address, so the service has to run with
+ * {@code auth.login-throttle.enabled=false}; otherwise nearly every login is rejected with 429 and the run fails.
+ * <p>
+ * To compare execution modes, run it once against the service started with
+ * {@code spring.threads.virtual.enabled=false} and once with {@code true}:
+ * <pre>
+ * ./gradlew loadTest -PbaseUrl=http://localhost:8084 -Pconcurrency=400 -Pduration=PT60S
+ * </pre>
+ */
+public final class AuthLoadTest {
+    private static final Pattern REFRESH_TOKEN = Pattern.compile("\"refreshToken\"\\s*:\\s*\"([^\"]+)\"");
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final String baseUrl;
+    private final String login;
+    private final String password;
+
+    private AuthLoadTest(String baseUrl, String login, String password) {
+        this.baseUrl = baseUrl;
+        this.login = login;
+        this.password = password;
+    }
+
+    public static void main(String[] args) throws Exception {
+        final String baseUrl = arg(args, 0, "http://localhost:8084");
+        final int concurrency = Integer.parseInt(arg(args, 1, "200"));
+        final Duration duration = Duration.parse(arg(args, 2, "PT30S"));
+        final String login = arg(args, 3, "loadtest");
+        final String password = arg(args, 4, "loadtest-password");
+
+        final AuthLoadTest test = new AuthLoadTest(baseUrl, login, password);
+        test.register();
+        test.run(concurrency, Duration.ofSeconds(5));
+        System.out.println("warm-up done");
+        final Result result = test.run(concurrency, duration);
+        result.print(duration);
+        if (result.hasErrors()) {
+            System.exit(1);
+        }
+    }
+
+    private void register() throws Exception {
+        final String body = "{\"login\":\"%s\",\"password\":\"%s\",\"firstName\":\"Load\",\"lastName\":\"Test\",\"email\":\"%s@load.test\"}"
+                .formatted(login, password, login);
+        client.send(post("/api/auth/register", body), HttpResponse.BodyHandlers.discarding());
+    }
+
+    private Result run(int concurrency, Duration duration) throws InterruptedException {
+        final Result result = new Result(concurrency);
+        final long deadline = System.nanoTime() + duration.toNanos();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int worker = 0; worker < concurrency; worker++) {
+                final int id = worker;
+                workers.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        final String refreshToken = call("/api/auth/login",
+                                "{\"login\":\"%s\",\"password\":\"%s\"}".formatted(login, password),
+                                result.login[id], result);
+                        if (refreshToken != null) {
+                            call("/api/auth/refresh", "{\"refreshToken\":\"%s\"}".formatted(refreshToken),
+                                    result.refresh[id], result);
+                        }
+                    }
+                });
+            }
+        }
+        return result;
+    }
+
+    private String call(String path, String body, Latencies latencies, Result result) {
+        final long start = System.nanoTime();
+        try {
+            final HttpResponse<String> response = client.send(post(path, body), HttpResponse.BodyHandlers.ofString());
+            final long elapsed = System.nanoTime() - start;
+            if (response.statusCode() != 200) {
+                result.error(path, String.valueOf(response.statusCode()));
+                return null;
+            }
+            latencies.add(elapsed);
+            final Matcher matcher = REFRESH_TOKEN.matcher(response.body());
+            return matcher.find() ? matcher.group(1) : null;
+        } catch (Exception e) {
+            result.error(path, e.getClass().getSimpleName());
+            return null;
+        }
+    }
+
+    private HttpRequest post(String path, String body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static String arg(String[] args, int index, String defaultValue) {
+        return args.length > index && !args[index].isBlank() ? args[index] : defaultValue;
+    }
+
+    private static final class Result {
+        private final Latencies[] login;
+        private final Latencies[] refresh;
+        private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+        private Result(int concurrency) {
+            login = new Latencies[concurrency];
+            refresh = new Latencies[concurrency];
+            for (int i = 0; i < concurrency; i++) {
+                login[i] = new Latencies();
+                refresh[i] = new Latencies();
+            }
+        }
+
+        private void error(String path, String cause) {
+            errors.computeIfAbsent(path + " " + cause, key -> new LongAdder()).increment();
+        }
+
+        private boolean hasErrors() {
+            return !errors.isEmpty();
+        }
+
+        private void print(Duration duration) {
+            printEndpoint("/login", login, duration);
+            printEndpoint("/refresh", refresh, duration);
+            if (errors.isEmpty()) {
+                System.out.println("errors: none");
+                return;
+            }
+            System.out.println("errors (run is invalid):");
+            new TreeMap<>(errors).forEach((cause, count) -> System.out.printf("  %-40s %d%n", cause, count.sum()));
+            if (errors.containsKey("/api/auth/login 429")) {
+                System.out.println("login throttle is active, start auth-service with --auth.login-throttle.enabled=false");
+            }
+        }
+
+        private static void printEndpoint(String name, Latencies[] perWorker, Duration duration) {
+            final long[] all = Arrays.stream(perWorker)
+                    .flatMapToLong(latencies -> Arrays.stream(latencies.values, 0, latencies.size))
+                    .sorted()
+                    .toArray();
+            if (all.length == 0) {
+                System.out.printf("%-9s no successful calls%n", name);
+                return;
+            }
+            System.out.printf("%-9s %8.1f req/s  p50 %7.2f ms  p99 %7.2f ms  max %7.2f ms%n",
+                    name,
+                    all.length / (double) duration.toSeconds(),
+                    percentile(all, 0.50),
+                    percentile(all, 0.99),
+                    all[all.length - 1] / 1e6);
+        }
+
+        private static double percentile(long[] sorted, double percentile) {
+            final int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / 1e6;
+        }
+    }
+
+    private static final class Latencies {
+        private long[] values = new long[1024];
+        private int size;
+
+        private void add(long nanos) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = nanos;
+        }
+    }
+}
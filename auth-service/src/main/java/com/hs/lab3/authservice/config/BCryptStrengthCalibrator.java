@@ -0,0 +1,40 @@
+package com.hs.lab3.authservice.config;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+/**
+ * Picks the highest BCrypt strength whose single hash still fits into the target latency on this machine.
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class BCryptStrengthCalibrator {
+    private static final String SAMPLE_PASSWORD = "calibration-Password-42";
+    private static final int WARMUP_ROUNDS = 3;
+
+    static int calibrate(Duration targetLatency, int minStrength, int maxStrength) {
+        final BCryptPasswordEncoder warmup = new BCryptPasswordEncoder(minStrength);
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            warmup.encode(SAMPLE_PASSWORD);
+        }
+
+        int strength = minStrength;
+        for (int candidate = minStrength; candidate <= maxStrength; candidate++) {
+            final BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(candidate);
+            final long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            final Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+            log.info("BCrypt strength {} takes {} ms", candidate, elapsed.toMillis());
+            if (candidate > minStrength && elapsed.compareTo(targetLatency) > 0) {
+                break;
+            }
+            strength = candidate;
+        }
+        log.info("Using BCrypt strength {} for target latency {} ms", strength, targetLatency.toMillis());
+        return strength;
+    }
+}
@@ -1,7 +1,9 @@
 package com.hs.lab3.authservice.config;
 
+import com.hs.lab3.authservice.filter.InternalTokenFilter;
 import com.hs.lab3.authservice.filter.JwtFilter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -14,6 +16,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.time.Duration;
+
 @Configuration
 @EnableWebSecurity
 @RequiredArgsConstructor
@@ -21,6 +25,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
     private final JwtFilter jwtFilter;
+    private final InternalTokenFilter internalTokenFilter;
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
@@ -34,20 +39,26 @@ public class SecurityConfig {
                         .requestMatchers(
                                 "/api/auth/login",
                                 "/api/auth/register",
+                                "/.well-known/jwks.json",
                                 "/swagger-ui/**",
                                 "/v3/api-docs/**",
                                 "/swagger-resources/**",
                                 "/webjars/**", "/swagger-ui/index.html#/auth-controller/login")
                         .permitAll()
+                        .requestMatchers("/internal/**").hasAuthority(InternalTokenFilter.INTERNAL_AUTHORITY)
                         .anyRequest().authenticated()
                 )
-                .addFilterAfter(jwtFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterAfter(jwtFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(internalTokenFilter, JwtFilter.class);
 
         return http.build();
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${auth.password-hashing.target-latency:PT0.1S}") Duration targetLatency,
+            @Value("${auth.password-hashing.min-strength:10}") int minStrength,
+            @Value("${auth.password-hashing.max-strength:14}") int maxStrength) {
+        return new BCryptPasswordEncoder(BCryptStrengthCalibrator.calibrate(targetLatency, minStrength, maxStrength));
     }
 }
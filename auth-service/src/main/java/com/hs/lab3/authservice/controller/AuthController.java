@@ -1,9 +1,10 @@
 package com.hs.lab3.authservice.controller;
 
 
-import com.hs.lab2.authservice.dto.*;
 import com.hs.lab3.authservice.dto.*;
 import com.hs.lab3.authservice.service.AuthService;
+import com.hs.lab3.authservice.service.BulkRegistrationService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -12,15 +13,23 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("api/auth")
 @RequiredArgsConstructor
 public class AuthController {
     private final AuthService authService;
+    private final BulkRegistrationService bulkRegistrationService;
 
+    /**
+     * The address the per-address login throttle counts against. Tomcat's RemoteIpValve replaces the peer address
+     * with the {@code X-Forwarded-For} client only when the peer is a trusted proxy
+     * ({@code server.tomcat.remoteip.internal-proxies}), so a direct caller cannot pick its own address.
+     */
     @PostMapping("login")
-    public ResponseEntity<JwtResponse> login(@RequestBody LoginRequest request) {
-        final JwtResponse token = authService.login(request.getLogin(), request.getPassword());
+    public ResponseEntity<JwtResponse> login(@RequestBody LoginRequest request, HttpServletRequest httpRequest) {
+        final JwtResponse token = authService.login(request.getLogin(), request.getPassword(), httpRequest.getRemoteAddr());
         return ResponseEntity.ok(token);
     }
 
@@ -35,6 +44,12 @@ public class AuthController {
         return ResponseEntity.ok(token);
     }
 
+    @PostMapping("/register/bulk")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<List<BulkRegisterResult>> registerBulk(@RequestBody BulkRegisterRequest request) {
+        return ResponseEntity.ok(bulkRegistrationService.registerAll(request.getUsers()));
+    }
+
     @PostMapping("token")
     public ResponseEntity<JwtResponse> getNewAccessToken(@RequestBody RefreshJwtRequest request) {
         final JwtResponse token = authService.getAccessToken(request.getRefreshToken());
@@ -59,6 +74,4 @@ public class AuthController {
         authService.addRoleToUser(request.getLogin(), request.getRole());
         return ResponseEntity.ok("User with login: " + request.getLogin() + " has new role: " + request.getRole());
     }
-
-
 }
@@ -0,0 +1,26 @@
+package com.hs.lab3.authservice.controller;
+
+import com.hs.lab3.authservice.service.SigningKeyRing;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+public class JwksController {
+    private static final Duration MAX_AGE = Duration.ofMinutes(5);
+
+    private final SigningKeyRing signingKeyRing;
+
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(MAX_AGE).cachePublic())
+                .body(signingKeyRing.jwks());
+    }
+}
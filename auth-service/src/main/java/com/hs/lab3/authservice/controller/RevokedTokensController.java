@@ -0,0 +1,27 @@
+package com.hs.lab3.authservice.controller;
+
+import com.hs.lab3.authservice.dto.RevokedAccessTokens;
+import com.hs.lab3.authservice.service.AccessTokenRevocationList;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Revocations for verifiers outside this service, polled by the gateway. Only ids of dead tokens are listed.
+ */
+@RestController
+@RequiredArgsConstructor
+public class RevokedTokensController {
+    private final AccessTokenRevocationList revocationList;
+
+    @GetMapping("/internal/revoked-access-tokens")
+    public ResponseEntity<RevokedAccessTokens> revokedAccessTokens() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(new RevokedAccessTokens(List.copyOf(revocationList.findActive().keySet())));
+    }
+}
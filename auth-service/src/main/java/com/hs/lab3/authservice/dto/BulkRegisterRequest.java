@@ -0,0 +1,12 @@
+package com.hs.lab3.authservice.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class BulkRegisterRequest {
+    private List<RegisterRequest> users;
+}
@@ -0,0 +1,18 @@
+package com.hs.lab3.authservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class BulkRegisterResult {
+    private String login;
+    private Status status;
+    private String message;
+
+    public enum Status {
+        CREATED,
+        DUPLICATE,
+        INVALID
+    }
+}
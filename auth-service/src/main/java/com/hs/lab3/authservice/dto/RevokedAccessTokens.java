@@ -0,0 +1,8 @@
+package com.hs.lab3.authservice.dto;
+
+import java.util.List;
+
+/**
+ * Ids ({@code jti}) of revoked access tokens that have not expired yet.
+ */
+public record RevokedAccessTokens(List<String> tokenIds) {}
@@ -0,0 +1,24 @@
+package com.hs.lab3.authservice.exceptions;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+@Getter
+public class LoginThrottledException extends RuntimeException {
+    private final Duration retryAfter;
+
+    public LoginThrottledException(String msg, Duration retryAfter) {
+        super(msg);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Whole seconds for the {@code Retry-After} header, rounded up so a client that waits exactly that long
+     * finds a token available, and at least one.
+     */
+    public long getRetryAfterSeconds() {
+        final long seconds = retryAfter.toSeconds() + (retryAfter.toNanosPart() > 0 ? 1 : 0);
+        return Math.max(1, seconds);
+    }
+}
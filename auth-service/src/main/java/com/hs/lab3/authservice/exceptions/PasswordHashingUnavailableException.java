@@ -0,0 +1,8 @@
+package com.hs.lab3.authservice.exceptions;
+
+public class PasswordHashingUnavailableException extends RuntimeException {
+
+    public PasswordHashingUnavailableException(String msg) {
+        super(msg);
+    }
+}
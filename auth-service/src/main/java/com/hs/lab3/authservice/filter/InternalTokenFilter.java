@@ -0,0 +1,47 @@
+package com.hs.lab3.authservice.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.GenericFilterBean;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+
+/**
+ * Authenticates other services calling {@code /internal/**} with the shared {@code auth.internal-token}, sent in
+ * {@code X-Internal-Token}. Without a configured token no caller is authenticated, so the endpoints stay closed.
+ */
+@Component
+public class InternalTokenFilter extends GenericFilterBean {
+    public static final String INTERNAL_AUTHORITY = "INTERNAL";
+    private static final String INTERNAL_TOKEN = "X-Internal-Token";
+    private static final String INTERNAL_PATH = "/internal/";
+
+    private final byte[] expectedToken;
+
+    public InternalTokenFilter(@Value("${auth.internal-token:}") String internalToken) {
+        this.expectedToken = internalToken.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain) throws IOException, ServletException {
+        final HttpServletRequest request = (HttpServletRequest) servletRequest;
+        final String token = request.getHeader(INTERNAL_TOKEN);
+        if (expectedToken.length > 0 && token != null && request.getServletPath().startsWith(INTERNAL_PATH)
+                && MessageDigest.isEqual(expectedToken, token.getBytes(StandardCharsets.UTF_8))) {
+            SecurityContextHolder.getContext().setAuthentication(new PreAuthenticatedAuthenticationToken(
+                    "internal", null, List.of(new SimpleGrantedAuthority(INTERNAL_AUTHORITY))));
+        }
+        filterChain.doFilter(servletRequest, servletResponse);
+    }
+}
@@ -3,14 +3,15 @@ package com.hs.lab3.authservice.filter;
 
 import com.hs.lab3.authservice.jwt.JwtAuthentication;
 import com.hs.lab3.authservice.jwt.JwtUtils;
-import com.hs.lab3.authservice.service.JwtProvider;
-import io.jsonwebtoken.Claims;
+import com.hs.lab3.authservice.service.AccessTokenRevocationList;
+import com.hs.lab3.authservice.service.VerifiedTokenCache;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.ServletRequest;
 import jakarta.servlet.ServletResponse;
 import jakarta.servlet.http.HttpServletRequest;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
@@ -21,21 +22,35 @@ import java.io.IOException;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class JwtFilter extends GenericFilterBean {
     private static final String AUTHORIZATION = "Authorization";
 
-    private final JwtProvider jwtProvider;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final AccessTokenRevocationList revocationList;
+    private final Timer filterTimer;
+
+    public JwtFilter(VerifiedTokenCache verifiedTokenCache, AccessTokenRevocationList revocationList, MeterRegistry meterRegistry) {
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.revocationList = revocationList;
+        this.filterTimer = Timer.builder("auth.jwt.filter")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
 
     @Override
     public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain) throws IOException, ServletException {
+        final Timer.Sample sample = Timer.start();
         final String token = getTokenFromRequest((HttpServletRequest) servletRequest);
-        if (token != null && jwtProvider.validateAccessToken(token)) {
-            final Claims claims = jwtProvider.getAccessClaims(token);
-            final JwtAuthentication jwtInfoToken = JwtUtils.generate(claims);
-            jwtInfoToken.setAuthenticated(true);
-            SecurityContextHolder.getContext().setAuthentication(jwtInfoToken);
+        if (token != null) {
+            verifiedTokenCache.getAccessClaims(token)
+                    .filter(claims -> !revocationList.isRevoked(claims.getId()))
+                    .ifPresent(claims -> {
+                        final JwtAuthentication jwtInfoToken = JwtUtils.generate(claims);
+                        jwtInfoToken.setAuthenticated(true);
+                        SecurityContextHolder.getContext().setAuthentication(jwtInfoToken);
+                    });
         }
+        sample.stop(filterTimer);
         filterChain.doFilter(servletRequest, servletResponse);
     }
 
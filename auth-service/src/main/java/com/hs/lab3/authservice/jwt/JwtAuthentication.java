@@ -1,11 +1,12 @@
 package com.hs.lab3.authservice.jwt;
 
-import com.example.authorization.model.Role;
+import com.hs.lab3.authservice.model.Role;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 
+import java.time.Instant;
 import java.util.Collection;
 import java.util.Set;
 
@@ -16,6 +17,8 @@ public class JwtAuthentication implements Authentication {
     private String login;
     private String email;
     private Set<Role> roles;
+    private String tokenId;
+    private Instant expiresAt;
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
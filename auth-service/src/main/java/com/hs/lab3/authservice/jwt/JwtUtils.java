@@ -1,27 +1,87 @@
 package com.hs.lab3.authservice.jwt;
 
 import com.hs.lab3.authservice.model.Role;
+import io.jsonwebtoken.Claims;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public final class JwtUtils {
+    public static final String CLAIMS_VERSION_CLAIM = "v";
+    public static final int CLAIMS_VERSION = 2;
+    public static final String ROLES_MASK_CLAIM = "rm";
+    private static final String LEGACY_ROLES_CLAIM = "roles";
+
+    /**
+     * @param claims claims of a token accepted by {@code JwtProvider.parseAccessToken}, which rejects tokens
+     *               without a valid role claim
+     */
     public static JwtAuthentication generate(Claims claims) {
+        final Set<Role> roles = getRoles(claims);
+        if (roles == null) {
+            throw new IllegalArgumentException("Access token has no valid role claim");
+        }
         final JwtAuthentication jwtInfoToken = new JwtAuthentication();
-        jwtInfoToken.setRoles(getRoles(claims));
+        jwtInfoToken.setRoles(roles);
         jwtInfoToken.setEmail(claims.get("email", String.class));
         jwtInfoToken.setLogin(claims.getSubject());
+        jwtInfoToken.setTokenId(claims.getId());
+        jwtInfoToken.setExpiresAt(claims.getExpiration().toInstant());
         return jwtInfoToken;
     }
 
-    private static Set<Role> getRoles(Claims claims) {
-        final List<String> roles = claims.get("roles", List.class);
-        return roles.stream()
-                .map(Role::valueOf)
-                .collect(Collectors.toSet());
+    /**
+     * SHA-256 of the raw token, url-safe base64 encoded. Used as a key wherever a token
+     * has to be remembered without keeping the token itself.
+     */
+    public static String digest(String token) {
+        try {
+            final byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * @return the roles of an access token, or {@code null} if its role claim for the claims version is missing
+     * or malformed, in which case the token has to be rejected
+     */
+    public static Set<Role> getRoles(Claims claims) {
+        if (claims.get(CLAIMS_VERSION_CLAIM) instanceof Number version && version.intValue() >= CLAIMS_VERSION) {
+            return claims.get(ROLES_MASK_CLAIM) instanceof Number mask ? Role.fromMask(mask.intValue()) : null;
+        }
+        return getLegacyRoles(claims);
+    }
+
+    /**
+     * Tokens issued before the role mask carry a list of role names. Their signing keys are retired after one
+     * key rotation period, after which this path is no longer reachable and can be removed.
+     */
+    private static Set<Role> getLegacyRoles(Claims claims) {
+        if (!(claims.get(LEGACY_ROLES_CLAIM) instanceof List<?> roles)) {
+            return null;
+        }
+        final Set<Role> result = EnumSet.noneOf(Role.class);
+        for (Object role : roles) {
+            if (!(role instanceof String name)) {
+                return null;
+            }
+            try {
+                result.add(Role.valueOf(name));
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+        return result;
     }
-}
\ No newline at end of file
+}
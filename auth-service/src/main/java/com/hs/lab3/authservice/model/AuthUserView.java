@@ -0,0 +1,24 @@
+package com.hs.lab3.authservice.model;
+
+import java.util.Set;
+
+/**
+ * Immutable snapshot of the fields of {@link AuthUser} needed to authenticate a user and issue tokens.
+ * Safe to share between threads and to keep in a cache.
+ */
+public record AuthUserView(
+        String login,
+        String password,
+        String email,
+        String firstName,
+        Set<Role> roles
+) {
+    public static AuthUserView from(AuthUser user) {
+        return new AuthUserView(
+                user.getLogin(),
+                user.getPassword(),
+                user.getEmail(),
+                user.getFirstName(),
+                user.getRoles() == null ? Set.of() : Set.copyOf(user.getRoles()));
+    }
+}
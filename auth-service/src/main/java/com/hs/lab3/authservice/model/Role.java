@@ -3,17 +3,69 @@ package com.hs.lab3.authservice.model;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.GrantedAuthority;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
 @RequiredArgsConstructor
 public enum Role implements GrantedAuthority {
-    VIEWER("VIEWER"),
-    ADMIN("ADMIN"),
-    REDACTOR("REDACTOR"),
-    LEAD("LEAD");
+    VIEWER("VIEWER", 0),
+    ADMIN("ADMIN", 1),
+    REDACTOR("REDACTOR", 2),
+    LEAD("LEAD", 3);
+
+    private static final int ALL_BITS;
+    private static final Set<Role>[] BY_MASK;
+
+    static {
+        int all = 0;
+        for (Role role : values()) {
+            all |= role.mask();
+        }
+        ALL_BITS = all;
+
+        @SuppressWarnings("unchecked")
+        final Set<Role>[] byMask = new Set[all + 1];
+        for (int mask = 0; mask <= all; mask++) {
+            final EnumSet<Role> roles = EnumSet.noneOf(Role.class);
+            for (Role role : values()) {
+                if ((mask & role.mask()) != 0) {
+                    roles.add(role);
+                }
+            }
+            byMask[mask] = Collections.unmodifiableSet(roles);
+        }
+        BY_MASK = byMask;
+    }
 
     private final String value;
+    /**
+     * Position of the role in the access-token role mask. Never reuse or change it once tokens are issued.
+     */
+    private final int bit;
 
     @Override
     public String getAuthority() {
         return value;
     }
-}
\ No newline at end of file
+
+    public int mask() {
+        return 1 << bit;
+    }
+
+    public static int toMask(Collection<Role> roles) {
+        int mask = 0;
+        for (Role role : roles) {
+            mask |= role.mask();
+        }
+        return mask;
+    }
+
+    /**
+     * @return shared, unmodifiable set of the roles in {@code mask}; unknown bits are ignored
+     */
+    public static Set<Role> fromMask(int mask) {
+        return BY_MASK[mask & ALL_BITS];
+    }
+}
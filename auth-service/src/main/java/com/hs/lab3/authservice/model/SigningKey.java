@@ -0,0 +1,15 @@
+package com.hs.lab3.authservice.model;
+
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Instant;
+
+/**
+ * RSA key pair used to sign access tokens, identified in token headers by {@code kid}.
+ */
+public record SigningKey(
+        String kid,
+        RSAPrivateKey privateKey,
+        RSAPublicKey publicKey,
+        Instant createdAt
+) {}
@@ -2,6 +2,10 @@ package com.hs.lab3.authservice.repository;
 
 import com.hs.lab3.authservice.model.AuthUser;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -9,4 +13,9 @@ public interface AuthRepository extends JpaRepository<AuthUser, Long> {
     Optional<AuthUser> findByLogin(String login);
     boolean existsByLogin(String login);
     boolean existsByEmail(String email);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE AuthUser u SET u.password = :password WHERE u.login = :login")
+    int updatePassword(@Param("login") String login, @Param("password") String password);
 }
\ No newline at end of file
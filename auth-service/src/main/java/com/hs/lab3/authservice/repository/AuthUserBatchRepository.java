@@ -0,0 +1,97 @@
+package com.hs.lab3.authservice.repository;
+
+import com.hs.lab3.authservice.model.AuthUser;
+import com.hs.lab3.authservice.model.Role;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Array;
+import java.sql.Statement;
+import java.util.*;
+
+/**
+ * Batched inserts of new users. Duplicates are resolved by the unique constraints on
+ * {@code login} and {@code email} instead of pre-queries.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AuthUserBatchRepository {
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts all users that do not clash with an existing login or email and grants them {@code role}.
+     *
+     * @return logins of the inserted users
+     */
+    @Transactional
+    public Set<String> insertIgnoringDuplicates(List<AuthUser> users, Role role) {
+        final Set<String> inserted = new HashSet<>();
+        for (int from = 0; from < users.size(); from += BATCH_SIZE) {
+            final List<AuthUser> batch = users.subList(from, Math.min(from + BATCH_SIZE, users.size()));
+            inserted.addAll(insertBatch(batch));
+        }
+        if (!inserted.isEmpty()) {
+            jdbcTemplate.update(
+                    "INSERT INTO user_roles (user_id, role) SELECT id, ? FROM auth_users WHERE login = ANY (?)",
+                    ps -> {
+                        ps.setString(1, role.name());
+                        ps.setArray(2, ps.getConnection().createArrayOf("varchar", inserted.toArray()));
+                    });
+        }
+        return inserted;
+    }
+
+    private Set<String> insertBatch(List<AuthUser> batch) {
+        final int[][] counts = jdbcTemplate.batchUpdate(
+                "INSERT INTO auth_users (login, password, first_name, last_name, email) VALUES (?, ?, ?, ?, ?) " +
+                        "ON CONFLICT DO NOTHING",
+                batch,
+                batch.size(),
+                (ps, user) -> {
+                    ps.setString(1, user.getLogin());
+                    ps.setString(2, user.getPassword());
+                    ps.setString(3, user.getFirstName());
+                    ps.setString(4, user.getLastName());
+                    ps.setString(5, user.getEmail());
+                });
+
+        final int[] rowCounts = counts.length == 0 ? new int[0] : counts[0];
+        if (Arrays.stream(rowCounts).anyMatch(count -> count == Statement.SUCCESS_NO_INFO)) {
+            return findInserted(batch);
+        }
+        final Set<String> inserted = new HashSet<>();
+        for (int i = 0; i < rowCounts.length; i++) {
+            if (rowCounts[i] > 0) {
+                inserted.add(batch.get(i).getLogin());
+            }
+        }
+        return inserted;
+    }
+
+    /**
+     * Fallback for drivers configured to rewrite batches, which report no per-row counts.
+     * A row is ours if it carries the freshly generated, salted password hash.
+     */
+    private Set<String> findInserted(List<AuthUser> batch) {
+        final Map<String, String> hashByLogin = new HashMap<>();
+        batch.forEach(user -> hashByLogin.put(user.getLogin(), user.getPassword()));
+        final Set<String> inserted = new HashSet<>();
+        jdbcTemplate.query(
+                "SELECT login, password FROM auth_users WHERE login = ANY (?)",
+                ps -> {
+                    final Array logins = ps.getConnection().createArrayOf("varchar", hashByLogin.keySet().toArray());
+                    ps.setArray(1, logins);
+                },
+                rs -> {
+                    final String login = rs.getString("login");
+                    if (rs.getString("password").equals(hashByLogin.get(login))) {
+                        inserted.add(login);
+                    }
+                });
+        return inserted;
+    }
+}
@@ -0,0 +1,61 @@
+package com.hs.lab3.authservice.repository;
+
+import com.hs.lab3.authservice.jwt.JwtUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single-node store. Tokens are kept by digest in a {@link ConcurrentHashMap},
+ * so every operation is lock-free apart from the map's own bin locking.
+ */
+@Component
+@ConditionalOnProperty(name = "auth.refresh-tokens.store", havingValue = "memory")
+public class InMemoryRefreshTokenStore implements RefreshTokenStore {
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+
+    @Override
+    public void save(String login, String refreshToken, Instant expiresAt) {
+        sessions.put(JwtUtils.digest(refreshToken), new Session(login, expiresAt));
+    }
+
+    @Override
+    public boolean exists(String login, String refreshToken) {
+        final Session session = sessions.get(JwtUtils.digest(refreshToken));
+        return session != null && session.belongsTo(login, Instant.now());
+    }
+
+    @Override
+    public boolean remove(String login, String refreshToken) {
+        final String digest = JwtUtils.digest(refreshToken);
+        final Session session = sessions.get(digest);
+        return session != null && session.login().equals(login) && sessions.remove(digest, session);
+    }
+
+    @Override
+    public boolean rotate(String login, String oldToken, String newToken, Instant expiresAt) {
+        final String digest = JwtUtils.digest(oldToken);
+        final Session session = sessions.get(digest);
+        if (session == null || !session.belongsTo(login, Instant.now()) || !sessions.remove(digest, session)) {
+            return false;
+        }
+        save(login, newToken, expiresAt);
+        return true;
+    }
+
+    @Override
+    public int removeExpired(Instant now) {
+        final int before = sessions.size();
+        sessions.values().removeIf(session -> !session.expiresAt().isAfter(now));
+        return Math.max(before - sessions.size(), 0);
+    }
+
+    private record Session(String login, Instant expiresAt) {
+        boolean belongsTo(String login, Instant now) {
+            return this.login.equals(login) && expiresAt.isAfter(now);
+        }
+    }
+}
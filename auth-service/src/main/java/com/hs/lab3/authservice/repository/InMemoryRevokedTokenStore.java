@@ -0,0 +1,41 @@
+package com.hs.lab3.authservice.repository;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single-node store, revocations are lost on restart.
+ */
+@Component
+@ConditionalOnProperty(name = "auth.revoked-tokens.store", havingValue = "memory")
+public class InMemoryRevokedTokenStore implements RevokedTokenStore {
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+
+    @Override
+    public void save(String tokenId, Instant expiresAt) {
+        revoked.put(tokenId, expiresAt);
+    }
+
+    @Override
+    public Map<String, Instant> findActive(Instant now) {
+        final Map<String, Instant> active = new HashMap<>();
+        revoked.forEach((tokenId, expiresAt) -> {
+            if (expiresAt.isAfter(now)) {
+                active.put(tokenId, expiresAt);
+            }
+        });
+        return active;
+    }
+
+    @Override
+    public int removeExpired(Instant now) {
+        final int before = revoked.size();
+        revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+        return Math.max(before - revoked.size(), 0);
+    }
+}
@@ -0,0 +1,38 @@
+package com.hs.lab3.authservice.repository;
+
+import com.hs.lab3.authservice.model.SigningKey;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Single-node store, keys are regenerated on every restart.
+ */
+@Component
+@ConditionalOnProperty(name = "jwt.keys.store", havingValue = "memory")
+public class InMemorySigningKeyStore implements SigningKeyStore {
+    private final List<SigningKey> keys = new CopyOnWriteArrayList<>();
+
+    @Override
+    public List<SigningKey> findAll() {
+        return keys.stream()
+                .sorted(Comparator.comparing(SigningKey::createdAt).reversed())
+                .toList();
+    }
+
+    @Override
+    public void save(SigningKey key) {
+        keys.add(key);
+    }
+
+    @Override
+    public int deleteCreatedBefore(Instant threshold) {
+        final int before = keys.size();
+        keys.removeIf(key -> key.createdAt().isBefore(threshold));
+        return before - keys.size();
+    }
+}
@@ -0,0 +1,63 @@
+package com.hs.lab3.authservice.repository;
+
+import com.hs.lab3.authservice.jwt.JwtUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+/**
+ * Store shared by all auth-service replicas, backed by the {@code refresh_tokens} table.
+ * Only token digests are persisted.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "auth.refresh-tokens.store", havingValue = "jdbc", matchIfMissing = true)
+public class JdbcRefreshTokenStore implements RefreshTokenStore {
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void save(String login, String refreshToken, Instant expiresAt) {
+        jdbcTemplate.update(
+                "INSERT INTO refresh_tokens (token_hash, login, expires_at) VALUES (?, ?, ?)",
+                JwtUtils.digest(refreshToken), login, Timestamp.from(expiresAt));
+    }
+
+    @Override
+    public boolean exists(String login, String refreshToken) {
+        final Boolean exists = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM refresh_tokens WHERE token_hash = ? AND login = ? AND expires_at > ?)",
+                Boolean.class,
+                JwtUtils.digest(refreshToken), login, Timestamp.from(Instant.now()));
+        return Boolean.TRUE.equals(exists);
+    }
+
+    @Override
+    public boolean remove(String login, String refreshToken) {
+        return jdbcTemplate.update(
+                "DELETE FROM refresh_tokens WHERE token_hash = ? AND login = ?",
+                JwtUtils.digest(refreshToken), login) > 0;
+    }
+
+    @Override
+    @Transactional
+    public boolean rotate(String login, String oldToken, String newToken, Instant expiresAt) {
+        final int deleted = jdbcTemplate.update(
+                "DELETE FROM refresh_tokens WHERE token_hash = ? AND login = ? AND expires_at > ?",
+                JwtUtils.digest(oldToken), login, Timestamp.from(Instant.now()));
+        if (deleted == 0) {
+            return false;
+        }
+        save(login, newToken, expiresAt);
+        return true;
+    }
+
+    @Override
+    public int removeExpired(Instant now) {
+        return jdbcTemplate.update("DELETE FROM refresh_tokens WHERE expires_at <= ?", Timestamp.from(now));
+    }
+}
@@ -0,0 +1,45 @@
+package com.hs.lab3.authservice.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Store shared by all auth-service replicas, backed by the {@code revoked_access_tokens} table.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "auth.revoked-tokens.store", havingValue = "jdbc", matchIfMissing = true)
+public class JdbcRevokedTokenStore implements RevokedTokenStore {
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void save(String tokenId, Instant expiresAt) {
+        jdbcTemplate.update(
+                "INSERT INTO revoked_access_tokens (token_id, expires_at) VALUES (?, ?) ON CONFLICT DO NOTHING",
+                tokenId, Timestamp.from(expiresAt));
+    }
+
+    @Override
+    public Map<String, Instant> findActive(Instant now) {
+        final Map<String, Instant> active = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT token_id, expires_at FROM revoked_access_tokens WHERE expires_at > ?",
+                rs -> {
+                    active.put(rs.getString("token_id"), rs.getTimestamp("expires_at").toInstant());
+                },
+                Timestamp.from(now));
+        return active;
+    }
+
+    @Override
+    public int removeExpired(Instant now) {
+        return jdbcTemplate.update("DELETE FROM revoked_access_tokens WHERE expires_at <= ?", Timestamp.from(now));
+    }
+}
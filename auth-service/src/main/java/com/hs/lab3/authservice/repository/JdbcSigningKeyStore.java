@@ -0,0 +1,73 @@
+package com.hs.lab3.authservice.repository;
+
+import com.hs.lab3.authservice.model.SigningKey;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Keeps signing keys in the {@code signing_keys} table, so that every replica signs with
+ * and publishes the same key set.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "jwt.keys.store", havingValue = "jdbc", matchIfMissing = true)
+public class JdbcSigningKeyStore implements SigningKeyStore {
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<SigningKey> findAll() {
+        return jdbcTemplate.query(
+                "SELECT kid, private_key, public_key, created_at FROM signing_keys ORDER BY created_at DESC",
+                (rs, rowNum) -> new SigningKey(
+                        rs.getString("kid"),
+                        decodePrivateKey(rs.getString("private_key")),
+                        decodePublicKey(rs.getString("public_key")),
+                        rs.getTimestamp("created_at").toInstant()));
+    }
+
+    @Override
+    public void save(SigningKey key) {
+        jdbcTemplate.update(
+                "INSERT INTO signing_keys (kid, private_key, public_key, created_at) VALUES (?, ?, ?, ?)",
+                key.kid(),
+                Base64.getEncoder().encodeToString(key.privateKey().getEncoded()),
+                Base64.getEncoder().encodeToString(key.publicKey().getEncoded()),
+                Timestamp.from(key.createdAt()));
+    }
+
+    @Override
+    public int deleteCreatedBefore(Instant threshold) {
+        return jdbcTemplate.update("DELETE FROM signing_keys WHERE created_at < ?", Timestamp.from(threshold));
+    }
+
+    private static RSAPrivateKey decodePrivateKey(String encoded) {
+        try {
+            return (RSAPrivateKey) KeyFactory.getInstance("RSA")
+                    .generatePrivate(new PKCS8EncodedKeySpec(Base64.getDecoder().decode(encoded)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Stored private signing key is corrupted", e);
+        }
+    }
+
+    private static RSAPublicKey decodePublicKey(String encoded) {
+        try {
+            return (RSAPublicKey) KeyFactory.getInstance("RSA")
+                    .generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(encoded)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Stored public signing key is corrupted", e);
+        }
+    }
+}
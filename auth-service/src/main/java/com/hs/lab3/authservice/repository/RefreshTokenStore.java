@@ -0,0 +1,32 @@
+package com.hs.lab3.authservice.repository;
+
+import java.time.Instant;
+
+/**
+ * Storage of issued refresh tokens. A login may hold several tokens at once, one per device session.
+ * Implementations must be safe for concurrent use.
+ */
+public interface RefreshTokenStore {
+
+    void save(String login, String refreshToken, Instant expiresAt);
+
+    boolean exists(String login, String refreshToken);
+
+    /**
+     * @return {@code true} if the token was present and has been removed
+     */
+    boolean remove(String login, String refreshToken);
+
+    /**
+     * Atomically swaps {@code oldToken} for {@code newToken}. Only one of several concurrent
+     * rotations of the same token succeeds.
+     *
+     * @return {@code false} if {@code oldToken} was not (or no longer) stored
+     */
+    boolean rotate(String login, String oldToken, String newToken, Instant expiresAt);
+
+    /**
+     * @return number of removed expired tokens
+     */
+    int removeExpired(Instant now);
+}
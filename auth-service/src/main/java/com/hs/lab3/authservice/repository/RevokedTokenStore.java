@@ -0,0 +1,23 @@
+package com.hs.lab3.authservice.repository;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Storage of revoked access-token ids ({@code jti}) shared by all auth-service replicas.
+ * An id only needs to be kept until the token it belongs to expires.
+ */
+public interface RevokedTokenStore {
+
+    void save(String tokenId, Instant expiresAt);
+
+    /**
+     * @return ids of revoked tokens that have not expired yet, with their expiration
+     */
+    Map<String, Instant> findActive(Instant now);
+
+    /**
+     * @return number of removed ids
+     */
+    int removeExpired(Instant now);
+}
@@ -0,0 +1,21 @@
+package com.hs.lab3.authservice.repository;
+
+import com.hs.lab3.authservice.model.SigningKey;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Storage of access-token signing keys shared by all auth-service replicas.
+ */
+public interface SigningKeyStore {
+
+    /**
+     * @return all stored keys, newest first
+     */
+    List<SigningKey> findAll();
+
+    void save(SigningKey key);
+
+    int deleteCreatedBefore(Instant threshold);
+}
@@ -0,0 +1,150 @@
+package com.hs.lab3.authservice.service;
+
+import com.hs.lab3.authservice.repository.RevokedTokenStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Revoked access-token ids. A Bloom filter answers the common "not revoked" case without touching the map,
+ * only its (rare) positives are confirmed against the exact set. Both are rebuilt from the store on a schedule,
+ * which picks up revocations made by other replicas and drops ids whose tokens have expired.
+ */
+@Slf4j
+@Component
+public class AccessTokenRevocationList {
+    private final RevokedTokenStore revokedTokenStore;
+    private final int expectedRevocations;
+
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter bloomFilter;
+
+    public AccessTokenRevocationList(
+            RevokedTokenStore revokedTokenStore,
+            MeterRegistry meterRegistry,
+            @Value("${auth.revoked-tokens.expected-revocations:10000}") int expectedRevocations) {
+        this.revokedTokenStore = revokedTokenStore;
+        this.expectedRevocations = expectedRevocations;
+        this.bloomFilter = new BloomFilter(expectedRevocations);
+        Gauge.builder("auth.revoked-tokens", revoked, Map::size)
+                .register(meterRegistry);
+        refresh();
+    }
+
+    /**
+     * Lock-free, allocation-free for tokens that were never revoked.
+     */
+    public boolean isRevoked(String tokenId) {
+        return tokenId != null && bloomFilter.mightContain(tokenId) && revoked.containsKey(tokenId);
+    }
+
+    public synchronized void revoke(String tokenId, Instant expiresAt) {
+        revokedTokenStore.save(tokenId, expiresAt);
+        revoked.put(tokenId, expiresAt);
+        bloomFilter.put(tokenId);
+    }
+
+    /**
+     * Revoked ids of all replicas, read from the store rather than from this replica's last refresh.
+     */
+    public Map<String, Instant> findActive() {
+        return revokedTokenStore.findActive(Instant.now());
+    }
+
+    /**
+     * Reloads the revoked ids from the store and rebuilds the filter, sized for the current number of entries.
+     * A Bloom filter cannot forget, so pruning expired ids means replacing it.
+     */
+    @Scheduled(fixedDelayString = "${auth.revoked-tokens.refresh-interval:PT10S}")
+    public synchronized void refresh() {
+        final Instant now = Instant.now();
+        final Map<String, Instant> active = revokedTokenStore.findActive(now);
+
+        final BloomFilter rebuilt = new BloomFilter(Math.max(expectedRevocations, active.size() * 2));
+        active.keySet().forEach(rebuilt::put);
+        bloomFilter = rebuilt;
+
+        revoked.putAll(active);
+        revoked.keySet().retainAll(active.keySet());
+    }
+
+    @Scheduled(fixedDelayString = "${auth.revoked-tokens.sweep-interval:PT10M}")
+    public void removeExpired() {
+        final int removed = revokedTokenStore.removeExpired(Instant.now());
+        if (removed > 0) {
+            log.debug("Removed {} expired revoked access tokens", removed);
+        }
+    }
+
+    /**
+     * Fixed-size Bloom filter with a 1% false-positive rate at its expected number of entries.
+     * Bit indexes come from two mixes of the id's hash (Kirsch-Mitzenmacher double hashing).
+     */
+    static final class BloomFilter {
+        private static final int HASH_FUNCTIONS = 7;
+        private static final int BITS_PER_ENTRY = 10;
+
+        private final AtomicLongArray words;
+        private final int bitCount;
+
+        BloomFilter(int expectedEntries) {
+            final int words = Math.max(1, (expectedEntries * BITS_PER_ENTRY + 63) >>> 6);
+            this.words = new AtomicLongArray(words);
+            this.bitCount = words << 6;
+        }
+
+        void put(String value) {
+            final int hash1 = mix(value.hashCode());
+            final int hash2 = mix(hash1 ^ 0x9E3779B9);
+            for (int i = 0; i < HASH_FUNCTIONS; i++) {
+                final int bit = bitIndex(hash1, hash2, i, bitCount);
+                final long mask = 1L << bit;
+                final int word = bit >>> 6;
+                long current;
+                do {
+                    current = words.get(word);
+                } while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask));
+            }
+        }
+
+        boolean mightContain(String value) {
+            final int hash1 = mix(value.hashCode());
+            final int hash2 = mix(hash1 ^ 0x9E3779B9);
+            for (int i = 0; i < HASH_FUNCTIONS; i++) {
+                final int bit = bitIndex(hash1, hash2, i, bitCount);
+                if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        int bitCount() {
+            return bitCount;
+        }
+
+        /**
+         * Index of the {@code i}-th bit, in {@code [0, bitCount)} also when the combined hash overflows.
+         * Shifts only use the low six bits, so {@code 1L << bit} addresses the bit within its word.
+         */
+        static int bitIndex(int hash1, int hash2, int i, int bitCount) {
+            return Math.floorMod(hash1 + i * hash2, bitCount);
+        }
+
+        private static int mix(int hash) {
+            hash ^= hash >>> 16;
+            hash *= 0x85EBCA6B;
+            hash ^= hash >>> 13;
+            hash *= 0xC2B2AE35;
+            return hash ^ (hash >>> 16);
+        }
+    }
+}
@@ -5,36 +5,46 @@ import com.hs.lab3.authservice.exceptions.AuthException;
 import com.hs.lab3.authservice.exceptions.RegisterException;
 import com.hs.lab3.authservice.jwt.JwtAuthentication;
 import com.hs.lab3.authservice.model.AuthUser;
+import com.hs.lab3.authservice.model.AuthUserView;
 import com.hs.lab3.authservice.model.Role;
+import com.hs.lab3.authservice.repository.RefreshTokenStore;
 import io.jsonwebtoken.Claims;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
 @Service
 @RequiredArgsConstructor
 public class AuthService {
     private final AuthUserService authUserService;
-    private final Map<String, String> refreshStorage = new HashMap<>();
+    private final RefreshTokenStore refreshTokenStore;
     private final JwtProvider jwtProvider;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final AccessTokenRevocationList accessTokenRevocationList;
+    private final LoginThrottle loginThrottle;
 
-    public JwtResponse login(String login, String password) {
-        final AuthUser user = getUser(login);
-        if (passwordEncoder.matches(password, user.getPassword())) {
+    @Timed(value = "auth.requests", extraTags = {"operation", "login"}, histogram = true)
+    public JwtResponse login(String login, String password, String clientAddress) {
+        loginThrottle.acquire(login, clientAddress);
+        final AuthUserView user = getUser(login);
+        if (passwordHashingService.matches(password, user.password())) {
+            if (passwordHashingService.needsRehash(user.password())) {
+                passwordHashingService.rehashInBackground(password,
+                        encoded -> authUserService.updatePassword(user.login(), encoded));
+            }
             final String accessToken = jwtProvider.generateAccessToken(user);
             final String refreshToken = jwtProvider.generateRefreshToken(user);
-            refreshStorage.put(user.getLogin(), refreshToken);
+            saveRefreshToken(user.login(), refreshToken);
             return new JwtResponse(accessToken, refreshToken);
         } else {
             throw new AuthException("Password is wrong");
         }
     }
 
+    @Timed(value = "auth.requests", extraTags = {"operation", "register"}, histogram = true)
     public JwtResponse register(String login, String password, String email, String firstName, String lastName) {
         if (authUserService.checkExistedUser(login, email)) {
             throw new RegisterException("User with login: " + login + " already exists");
@@ -42,7 +52,7 @@ public class AuthService {
 
         AuthUser user = new AuthUser();
         user.setLogin(login);
-        user.setPassword(passwordEncoder.encode(password));
+        user.setPassword(passwordHashingService.encode(password));
         user.setFirstName(firstName);
         user.setLastName(lastName);
         user.setEmail(email);
@@ -50,65 +60,66 @@ public class AuthService {
 
         authUserService.saveNewUser(user);
 
-        final String accessToken = jwtProvider.generateAccessToken(user);
-        final String refreshToken = jwtProvider.generateRefreshToken(user);
-        refreshStorage.put(user.getLogin(), refreshToken);
+        final AuthUserView registered = AuthUserView.from(user);
+        final String accessToken = jwtProvider.generateAccessToken(registered);
+        final String refreshToken = jwtProvider.generateRefreshToken(registered);
+        saveRefreshToken(registered.login(), refreshToken);
 
         return new JwtResponse(accessToken, refreshToken);
     }
 
+    /**
+     * Ends the session of the refresh token and revokes the access token the request was authenticated with.
+     */
     public JwtResponse logout(String refreshToken) {
-        if (jwtProvider.validateRefreshToken(refreshToken)) {
-            final Claims claims = jwtProvider.getRefreshClaims(refreshToken);
-            final String login = claims.getSubject();
-            final String saveRefreshToken = refreshStorage.get(login);
-
-            if (saveRefreshToken != null && saveRefreshToken.equals(refreshToken)) {
-                refreshStorage.remove(login);
-            }
+        final JwtAuthentication authentication = getAuthInfo();
+        if (authentication != null && authentication.getTokenId() != null) {
+            accessTokenRevocationList.revoke(authentication.getTokenId(), authentication.getExpiresAt());
         }
+        jwtProvider.parseRefreshToken(refreshToken)
+                .ifPresent(claims -> refreshTokenStore.remove(claims.getSubject(), refreshToken));
         return new JwtResponse(null, null);
     }
 
     public JwtResponse getAccessToken(String refreshToken) {
-        if (jwtProvider.validateRefreshToken(refreshToken)) {
-            final Claims claims = jwtProvider.getRefreshClaims(refreshToken);
-            final String login = claims.getSubject();
-            final String saveRefreshToken = refreshStorage.get(login);
-            if (saveRefreshToken != null && saveRefreshToken.equals(refreshToken)) {
-                final AuthUser user = getUser(login);
-                final String accessToken = jwtProvider.generateAccessToken(user);
-                return new JwtResponse(accessToken, null);
-            }
-        }
-        return new JwtResponse(null, null);
+        return jwtProvider.parseRefreshToken(refreshToken)
+                .map(Claims::getSubject)
+                .filter(login -> refreshTokenStore.exists(login, refreshToken))
+                .map(login -> new JwtResponse(jwtProvider.generateAccessToken(getUser(login)), null))
+                .orElseGet(() -> new JwtResponse(null, null));
     }
 
+    @Timed(value = "auth.requests", extraTags = {"operation", "refresh"}, histogram = true)
     public JwtResponse refresh(String refreshToken) {
-        if (jwtProvider.validateRefreshToken(refreshToken)) {
-            final Claims claims = jwtProvider.getRefreshClaims(refreshToken);
-            final String login = claims.getSubject();
-            final String saveRefreshToken = refreshStorage.get(login);
-            if (saveRefreshToken != null && saveRefreshToken.equals(refreshToken)) {
-                final AuthUser user = getUser(login);
-                final String accessToken = jwtProvider.generateAccessToken(user);
-                final String newRefreshToken = jwtProvider.generateRefreshToken(user);
-                refreshStorage.put(user.getLogin(), newRefreshToken);
-                return new JwtResponse(accessToken, newRefreshToken);
-            }
+        final String login = jwtProvider.parseRefreshToken(refreshToken)
+                .map(Claims::getSubject)
+                .orElseThrow(() -> new AuthException("JWT was not valid"));
+        final AuthUserView user = getUser(login);
+        final String accessToken = jwtProvider.generateAccessToken(user);
+        final String newRefreshToken = jwtProvider.generateRefreshToken(user);
+        if (!refreshTokenStore.rotate(login, refreshToken, newRefreshToken, refreshExpiration())) {
+            throw new AuthException("JWT was not valid");
         }
-        throw new AuthException("JWT was not valid");
+        return new JwtResponse(accessToken, newRefreshToken);
     }
+
     public void addRoleToUser(String login, Role role) {
-        final AuthUser user = getUser(login);
-        authUserService.addNewRole(user, role);
+        authUserService.addNewRole(login, role);
     }
 
     public JwtAuthentication getAuthInfo() {
         return (JwtAuthentication) SecurityContextHolder.getContext().getAuthentication();
     }
 
-    public AuthUser getUser(String login) {
+    private void saveRefreshToken(String login, String refreshToken) {
+        refreshTokenStore.save(login, refreshToken, refreshExpiration());
+    }
+
+    private static Instant refreshExpiration() {
+        return Instant.now().plus(JwtProvider.REFRESH_TOKEN_TTL);
+    }
+
+    public AuthUserView getUser(String login) {
         return authUserService.getByLogin(login)
                 .orElseThrow(() -> new AuthException("User was not found"));
     }
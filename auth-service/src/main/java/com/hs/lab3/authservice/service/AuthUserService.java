@@ -1,20 +1,43 @@
 package com.hs.lab3.authservice.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hs.lab3.authservice.exceptions.AuthException;
 import com.hs.lab3.authservice.model.AuthUser;
+import com.hs.lab3.authservice.model.AuthUserView;
 import com.hs.lab3.authservice.model.Role;
 import com.hs.lab3.authservice.repository.AuthRepository;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.Collection;
 import java.util.Optional;
 
 @Service
-@RequiredArgsConstructor
 public class AuthUserService {
     private final AuthRepository authRepository;
+    private final Cache<String, AuthUserView> usersByLogin;
 
-    public Optional<AuthUser> getByLogin(String login) {
-        return authRepository.findByLogin(login);
+    public AuthUserService(
+            AuthRepository authRepository,
+            MeterRegistry meterRegistry,
+            @Value("${auth.user-cache.max-size:10000}") long maxSize,
+            @Value("${auth.user-cache.ttl:PT5M}") Duration ttl) {
+        this.authRepository = authRepository;
+        this.usersByLogin = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, usersByLogin, "auth.users");
+    }
+
+    public Optional<AuthUserView> getByLogin(String login) {
+        return Optional.ofNullable(usersByLogin.get(login,
+                key -> authRepository.findByLogin(key).map(AuthUserView::from).orElse(null)));
     }
 
     public boolean checkExistedUser(String login, String email) {
@@ -23,10 +46,23 @@ public class AuthUserService {
 
     public void saveNewUser(AuthUser user) {
         authRepository.save(user);
+        usersByLogin.invalidate(user.getLogin());
+    }
+
+    public void evict(Collection<String> logins) {
+        usersByLogin.invalidateAll(logins);
+    }
+
+    public void updatePassword(String login, String encodedPassword) {
+        authRepository.updatePassword(login, encodedPassword);
+        usersByLogin.invalidate(login);
     }
 
-    public void addNewRole(AuthUser user, Role role) {
+    public void addNewRole(String login, Role role) {
+        final AuthUser user = authRepository.findByLogin(login)
+                .orElseThrow(() -> new AuthException("User was not found"));
         user.getRoles().add(role);
         authRepository.save(user);
+        usersByLogin.invalidate(login);
     }
 }
@@ -0,0 +1,95 @@
+package com.hs.lab3.authservice.service;
+
+import com.hs.lab3.authservice.dto.BulkRegisterResult;
+import com.hs.lab3.authservice.dto.BulkRegisterResult.Status;
+import com.hs.lab3.authservice.dto.RegisterRequest;
+import com.hs.lab3.authservice.model.AuthUser;
+import com.hs.lab3.authservice.model.Role;
+import com.hs.lab3.authservice.repository.AuthUserBatchRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.util.*;
+
+/**
+ * Admin import of many users at once. Passwords are hashed in parallel, users are inserted in JDBC batches
+ * and no tokens are issued. Every input row gets its own result, in input order.
+ */
+@Service
+@RequiredArgsConstructor
+public class BulkRegistrationService {
+    private static final int MAX_NAME_LENGTH = 20;
+
+    private final PasswordHashingService passwordHashingService;
+    private final AuthUserBatchRepository authUserBatchRepository;
+    private final AuthUserService authUserService;
+
+    public List<BulkRegisterResult> registerAll(List<RegisterRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            return List.of();
+        }
+
+        final BulkRegisterResult[] results = new BulkRegisterResult[requests.size()];
+        final List<Integer> accepted = new ArrayList<>();
+        final Set<String> logins = new HashSet<>();
+        final Set<String> emails = new HashSet<>();
+        for (int i = 0; i < requests.size(); i++) {
+            final RegisterRequest request = requests.get(i);
+            final String problem = validate(request);
+            if (problem != null) {
+                results[i] = new BulkRegisterResult(request == null ? null : request.getLogin(), Status.INVALID, problem);
+            } else if (!logins.add(request.getLogin()) | !emails.add(request.getEmail())) {
+                results[i] = new BulkRegisterResult(request.getLogin(), Status.DUPLICATE, "Login or email repeats in the request");
+            } else {
+                accepted.add(i);
+            }
+        }
+
+        final List<String> hashes = passwordHashingService.encodeAll(
+                accepted.stream().map(i -> requests.get(i).getPassword()).toList());
+        final List<AuthUser> users = new ArrayList<>(accepted.size());
+        for (int i = 0; i < accepted.size(); i++) {
+            users.add(toUser(requests.get(accepted.get(i)), hashes.get(i)));
+        }
+
+        final Set<String> inserted = authUserBatchRepository.insertIgnoringDuplicates(users, Role.VIEWER);
+        authUserService.evict(inserted);
+
+        for (int index : accepted) {
+            final String login = requests.get(index).getLogin();
+            results[index] = inserted.contains(login)
+                    ? new BulkRegisterResult(login, Status.CREATED, null)
+                    : new BulkRegisterResult(login, Status.DUPLICATE, "User with this login or email already exists");
+        }
+        return Arrays.asList(results);
+    }
+
+    private static String validate(RegisterRequest request) {
+        if (request == null) {
+            return "Empty row";
+        }
+        if (!StringUtils.hasText(request.getPassword())) {
+            return "Password is required";
+        }
+        for (String field : new String[]{request.getLogin(), request.getFirstName(), request.getLastName(), request.getEmail()}) {
+            if (!StringUtils.hasText(field)) {
+                return "Login, first name, last name and email are required";
+            }
+            if (field.length() > MAX_NAME_LENGTH) {
+                return "Login, first name, last name and email must be at most " + MAX_NAME_LENGTH + " characters";
+            }
+        }
+        return null;
+    }
+
+    private static AuthUser toUser(RegisterRequest request, String passwordHash) {
+        final AuthUser user = new AuthUser();
+        user.setLogin(request.getLogin());
+        user.setPassword(passwordHash);
+        user.setFirstName(request.getFirstName());
+        user.setLastName(request.getLastName());
+        user.setEmail(request.getEmail());
+        return user;
+    }
+}
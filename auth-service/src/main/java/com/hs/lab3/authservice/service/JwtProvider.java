@@ -1,102 +1,182 @@
 package com.hs.lab3.authservice.service;
 
-import com.hs.lab3.authservice.model.AuthUser;
+import com.hs.lab3.authservice.jwt.JwtUtils;
+import com.hs.lab3.authservice.model.AuthUserView;
+import com.hs.lab3.authservice.model.Role;
+import com.hs.lab3.authservice.model.SigningKey;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.security.Key;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
 
 @Slf4j
 @Component
 public class JwtProvider {
-    private final SecretKey jwtAccessSecretKey;
+    public static final Duration ACCESS_TOKEN_TTL = Duration.ofMinutes(15);
+    public static final Duration REFRESH_TOKEN_TTL = Duration.ofDays(7);
+
+    private final SigningKeyRing signingKeyRing;
     private final SecretKey jwtRefreshSecretKey;
+    private final JwtParser accessParser;
+    private final JwtParser refreshParser;
+    private final MeterRegistry meterRegistry;
+    private final TokenMeters accessMeters;
+    private final TokenMeters refreshMeters;
 
     public JwtProvider(
-            @Value("${jwt.secret.access}") String jwtAccessSecretKey,
+            SigningKeyRing signingKeyRing,
+            MeterRegistry meterRegistry,
             @Value("${jwt.secret.refresh}") String jwtRefreshSecretKey) {
-        this.jwtAccessSecretKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtAccessSecretKey));
+        this.signingKeyRing = signingKeyRing;
+        this.meterRegistry = meterRegistry;
+        this.accessMeters = new TokenMeters(meterRegistry, "access");
+        this.refreshMeters = new TokenMeters(meterRegistry, "refresh");
         this.jwtRefreshSecretKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtRefreshSecretKey));
+        this.accessParser = Jwts.parser().keyLocator(new LocatorAdapter<Key>() {
+            @Override
+            protected Key locate(JwsHeader header) {
+                return signingKeyRing.findPublicKey(header.getKeyId())
+                        .orElseThrow(() -> new UnsupportedJwtException("Unknown signing key: " + header.getKeyId()));
+            }
+        }).build();
+        this.refreshParser = Jwts.parser().verifyWith(this.jwtRefreshSecretKey).build();
     }
 
-    public String generateAccessToken(@NonNull AuthUser user) {
+    public String generateAccessToken(@NonNull AuthUserView user) {
         final LocalDateTime now = LocalDateTime.now();
-        final Instant accessExpirationInstant = now.plusMinutes(15).atZone(ZoneId.systemDefault()).toInstant();
+        final Instant accessExpirationInstant = now.plus(ACCESS_TOKEN_TTL).atZone(ZoneId.systemDefault()).toInstant();
         final Date accessExpiration = Date.from(accessExpirationInstant);
 
-        return Jwts.builder()
-                .subject(user.getLogin())
+        final SigningKey signingKey = signingKeyRing.currentKey();
+
+        return accessMeters.sign().record(() -> Jwts.builder()
+                .header().keyId(signingKey.kid()).and()
+                .id(UUID.randomUUID().toString())
+                .subject(user.login())
                 .expiration(accessExpiration)
-                .signWith(jwtAccessSecretKey)
-                .claim("roles", user.getRoles())
-                .claim("firstName", user.getFirstName())
-                .claim("email", user.getEmail())
-                .compact();
+                .signWith(signingKey.privateKey(), Jwts.SIG.RS256)
+                .claim(JwtUtils.CLAIMS_VERSION_CLAIM, JwtUtils.CLAIMS_VERSION)
+                .claim(JwtUtils.ROLES_MASK_CLAIM, Role.toMask(user.roles()))
+                .claim("firstName", user.firstName())
+                .claim("email", user.email())
+                .compact());
     }
 
-    public String generateRefreshToken(@NonNull AuthUser user) {
+    public String generateRefreshToken(@NonNull AuthUserView user) {
         final LocalDateTime now = LocalDateTime.now();
-        final Instant refreshExpirationInstant = now.plusDays(7).atZone(ZoneId.systemDefault()).toInstant();
+        final Instant refreshExpirationInstant = now.plus(REFRESH_TOKEN_TTL).atZone(ZoneId.systemDefault()).toInstant();
         final Date refreshExpiration = Date.from(refreshExpirationInstant);
 
-        return Jwts.builder()
-                .subject(user.getLogin())
+        return refreshMeters.sign().record(() -> Jwts.builder()
+                .id(UUID.randomUUID().toString())
+                .subject(user.login())
                 .expiration(refreshExpiration)
                 .signWith(jwtRefreshSecretKey)
-                .compact();
+                .compact());
     }
+
     public boolean validateAccessToken(@NonNull String accessToken) {
-        return validateToken(accessToken, jwtAccessSecretKey);
+        return parseAccessToken(accessToken).isPresent();
     }
 
     public boolean validateRefreshToken(@NonNull String refreshToken) {
-        return validateToken(refreshToken, jwtRefreshSecretKey);
+        return parseRefreshToken(refreshToken).isPresent();
+    }
+
+    /**
+     * Verifies the access token and returns its claims in a single pass,
+     * or an empty optional if the token is not valid. A token without a valid role claim is not valid.
+     */
+    public Optional<Claims> parseAccessToken(@NonNull String token) {
+        return parseToken(token, accessParser, accessMeters)
+                .filter(claims -> {
+                    if (JwtUtils.getRoles(claims) != null) {
+                        return true;
+                    }
+                    accessMeters.failure("roles");
+                    log.error("Access token {} has no valid role claim", claims.getId());
+                    return false;
+                });
+    }
+
+    public Optional<Claims> parseRefreshToken(@NonNull String token) {
+        return parseToken(token, refreshParser, refreshMeters);
+    }
+
+    public Claims getAccessClaims(@NonNull String token) {
+        return getClaims(token, accessParser);
+    }
+
+    public Claims getRefreshClaims(@NonNull String token) {
+        return getClaims(token, refreshParser);
     }
 
-    public boolean validateToken(@NonNull String token, @NonNull SecretKey secretKey) {
+    private Optional<Claims> parseToken(@NonNull String token, @NonNull JwtParser parser, TokenMeters meters) {
+        final Timer.Sample sample = Timer.start(meterRegistry);
         try {
-            Jwts.parser()
-                    .verifyWith(secretKey)
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
+            return Optional.of(getClaims(token, parser));
         } catch (ExpiredJwtException expEx) {
+            meters.failure("expired");
             log.error("Token expired", expEx);
         } catch (UnsupportedJwtException unsEx) {
+            meters.failure("unsupported");
             log.error("Unsupported jwt", unsEx);
         } catch (MalformedJwtException mjEx) {
+            meters.failure("malformed");
             log.error("Malformed jwt", mjEx);
         } catch (SignatureException sEx) {
+            meters.failure("signature");
             log.error("Invalid signature", sEx);
         } catch (Exception e) {
+            meters.failure("invalid");
             log.error("invalid token", e);
+        } finally {
+            sample.stop(meters.verify());
         }
-        return false;
+        return Optional.empty();
     }
 
-    public Claims getAccessClaims(@NonNull String token) {
-        return getClaims(token, jwtAccessSecretKey);
+    private Claims getClaims(@NonNull String token, JwtParser parser) {
+        return parser
+                .parseSignedClaims(token)
+                .getPayload();
     }
 
-    public Claims getRefreshClaims(@NonNull String token) {
-        return getClaims(token, jwtRefreshSecretKey);
-    }
+    /**
+     * Sign and verify timers of one token type. Failure counters are registered on first use,
+     * failures are off the hot path.
+     */
+    private record TokenMeters(MeterRegistry meterRegistry, String type, Timer sign, Timer verify) {
+        TokenMeters(MeterRegistry meterRegistry, String type) {
+            this(meterRegistry, type, timer(meterRegistry, type, "sign"), timer(meterRegistry, type, "verify"));
+        }
 
-    private Claims getClaims(@NonNull String token, SecretKey secretKey) {
-        return Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        void failure(String reason) {
+            meterRegistry.counter("auth.jwt.failures", "type", type, "reason", reason).increment();
+        }
+
+        private static Timer timer(MeterRegistry meterRegistry, String type, String operation) {
+            return Timer.builder("auth.jwt")
+                    .tag("type", type)
+                    .tag("operation", operation)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+        }
     }
-}
\ No newline at end of file
+}
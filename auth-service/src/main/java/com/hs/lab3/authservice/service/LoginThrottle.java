@@ -0,0 +1,117 @@
+package com.hs.lab3.authservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hs.lab3.authservice.exceptions.LoginThrottledException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets per login and per client address, checked before any user lookup or password hashing.
+ * Buckets live in size-bounded Caffeine caches (striped, lock-free reads) and are evicted once idle;
+ * an evicted bucket is indistinguishable from a full one.
+ * <p>
+ * {@code enabled=false} turns the throttle off, for load tests that log one account in from one address.
+ */
+@Component
+public class LoginThrottle {
+    private final boolean enabled;
+    private final Limit perLogin;
+    private final Limit perAddress;
+    private final Cache<String, Bucket> loginBuckets;
+    private final Cache<String, Bucket> addressBuckets;
+    private final Counter loginRejections;
+    private final Counter addressRejections;
+
+    public LoginThrottle(
+            MeterRegistry meterRegistry,
+            @Value("${auth.login-throttle.enabled:true}") boolean enabled,
+            @Value("${auth.login-throttle.per-login.capacity:5}") int loginCapacity,
+            @Value("${auth.login-throttle.per-login.refill-interval:PT12S}") Duration loginRefillInterval,
+            @Value("${auth.login-throttle.per-address.capacity:20}") int addressCapacity,
+            @Value("${auth.login-throttle.per-address.refill-interval:PT3S}") Duration addressRefillInterval,
+            @Value("${auth.login-throttle.max-entries:100000}") long maxEntries,
+            @Value("${auth.login-throttle.idle-eviction:PT15M}") Duration idleEviction) {
+        this.enabled = enabled;
+        this.perLogin = new Limit(loginCapacity, loginRefillInterval.toNanos());
+        this.perAddress = new Limit(addressCapacity, addressRefillInterval.toNanos());
+        this.loginBuckets = buckets(maxEntries, idleEviction);
+        this.addressBuckets = buckets(maxEntries, idleEviction);
+        this.loginRejections = Counter.builder("auth.login.throttled")
+                .tag("key", "login")
+                .register(meterRegistry);
+        this.addressRejections = Counter.builder("auth.login.throttled")
+                .tag("key", "address")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes one attempt from both buckets.
+     *
+     * @throws LoginThrottledException if either bucket is empty
+     */
+    public void acquire(String login, String clientAddress) {
+        if (!enabled) {
+            return;
+        }
+        final long now = System.nanoTime();
+        if (clientAddress != null) {
+            final long wait = addressBuckets.get(clientAddress, key -> new Bucket()).tryAcquire(perAddress, now);
+            if (wait > 0) {
+                addressRejections.increment();
+                throw new LoginThrottledException("Too many login attempts, try later", Duration.ofNanos(wait));
+            }
+        }
+        if (login != null) {
+            final long wait = loginBuckets.get(login, key -> new Bucket()).tryAcquire(perLogin, now);
+            if (wait > 0) {
+                loginRejections.increment();
+                throw new LoginThrottledException("Too many login attempts, try later", Duration.ofNanos(wait));
+            }
+        }
+    }
+
+    private static Cache<String, Bucket> buckets(long maxEntries, Duration idleEviction) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterAccess(idleEviction)
+                .build();
+    }
+
+    record Limit(int capacity, long refillNanos) {
+        long burstNanos() {
+            return capacity * refillNanos;
+        }
+    }
+
+    /**
+     * Token bucket kept as a single theoretical arrival time (GCRA), so an attempt is one CAS.
+     * The bucket is full when the arrival time lies in the past, and each attempt moves it forward by one refill interval.
+     */
+    static final class Bucket {
+        private final AtomicLong arrival = new AtomicLong(Long.MIN_VALUE);
+
+        /**
+         * @return 0 if a token was taken, otherwise nanos until the next token becomes available
+         */
+        long tryAcquire(Limit limit, long now) {
+            while (true) {
+                final long current = arrival.get();
+                final long start = current == Long.MIN_VALUE || current - now < 0 ? now : current;
+                final long next = start + limit.refillNanos();
+                final long ahead = next - now;
+                if (ahead > limit.burstNanos()) {
+                    return ahead - limit.burstNanos();
+                }
+                if (arrival.compareAndSet(current, next)) {
+                    return 0;
+                }
+            }
+        }
+    }
+}
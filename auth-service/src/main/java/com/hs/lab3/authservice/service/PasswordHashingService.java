@@ -0,0 +1,170 @@
+package com.hs.lab3.authservice.service;
+
+import com.hs.lab3.authservice.exceptions.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+/**
+ * Runs BCrypt on its own bounded pool so that hashing bursts cannot occupy every request thread.
+ * When the queue is full, callers are rejected immediately with {@link PasswordHashingUnavailableException}.
+ * Bulk hashing is limited to {@code bulk-concurrency} queued or running tasks, half the pool by default, so that
+ * imports leave the rest of the pool and the whole queue to interactive logins.
+ */
+@Slf4j
+@Service
+public class PasswordHashingService implements DisposableBean {
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+    private final Semaphore bulkPermits;
+    private final Timer encodeTimer;
+    private final Timer matchTimer;
+
+    public PasswordHashingService(
+            PasswordEncoder passwordEncoder,
+            MeterRegistry meterRegistry,
+            @Value("${auth.password-hashing.threads:0}") int threads,
+            @Value("${auth.password-hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${auth.password-hashing.timeout:PT5S}") Duration timeout,
+            @Value("${auth.password-hashing.bulk-concurrency:0}") int bulkConcurrency) {
+        this.passwordEncoder = passwordEncoder;
+        this.timeout = timeout;
+        final int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.bulkPermits = new Semaphore(bulkConcurrency > 0 ? bulkConcurrency : Math.max(1, poolSize / 2));
+
+        this.encodeTimer = Timer.builder("auth.password.hash")
+                .tag("operation", "encode")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.matchTimer = Timer.builder("auth.password.hash")
+                .tag("operation", "matches")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hashing.queue", executor, e -> e.getQueue().size())
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+    }
+
+    public String encode(String rawPassword) {
+        return await(submit(() -> encodeTimer.record(() -> passwordEncoder.encode(rawPassword))));
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return await(submit(() -> matchTimer.record(() -> passwordEncoder.matches(rawPassword, encodedPassword))));
+    }
+
+    /**
+     * Hashes all passwords in parallel on the hashing pool, with at most {@code bulk-concurrency} of them queued or
+     * running at a time across all bulk callers. The caller waits for a free slot before submitting the next password.
+     */
+    public List<String> encodeAll(List<String> rawPasswords) {
+        final List<Future<String>> futures = new ArrayList<>(rawPasswords.size());
+        try {
+            for (String rawPassword : rawPasswords) {
+                futures.add(submitBulk(() -> encodeTimer.record(() -> passwordEncoder.encode(rawPassword))));
+            }
+            final List<String> encoded = new ArrayList<>(futures.size());
+            for (Future<String> future : futures) {
+                encoded.add(await(future));
+            }
+            return encoded;
+        } catch (RuntimeException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw e;
+        }
+    }
+
+    public boolean needsRehash(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Re-hashes the password with the current strength in the background. Skipped silently when the pool is busy,
+     * the next successful login will try again.
+     */
+    public void rehashInBackground(String rawPassword, Consumer<String> onRehashed) {
+        try {
+            executor.execute(() -> onRehashed.accept(encodeTimer.record(() -> passwordEncoder.encode(rawPassword))));
+        } catch (RejectedExecutionException e) {
+            log.debug("Skipping password rehash, hashing pool is saturated");
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private <T> Future<T> submit(Callable<T> task) {
+        try {
+            return executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new PasswordHashingUnavailableException("Too many authentication requests, try later");
+        }
+    }
+
+    /**
+     * The permit is released when the task completes or is cancelled, also if it is cancelled before it runs.
+     */
+    private <T> Future<T> submitBulk(Callable<T> task) {
+        try {
+            if (!bulkPermits.tryAcquire(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new PasswordHashingUnavailableException("Too many authentication requests, try later");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingUnavailableException("Password hashing was interrupted");
+        }
+        final FutureTask<T> future = new FutureTask<>(task) {
+            @Override
+            protected void done() {
+                bulkPermits.release();
+            }
+        };
+        try {
+            executor.execute(future);
+        } catch (RejectedExecutionException e) {
+            bulkPermits.release();
+            throw new PasswordHashingUnavailableException("Too many authentication requests, try later");
+        }
+        return future;
+    }
+
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new PasswordHashingUnavailableException("Password hashing was interrupted");
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new PasswordHashingUnavailableException("Too many authentication requests, try later");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.hs.lab3.authservice.service;
+
+import com.hs.lab3.authservice.repository.RefreshTokenStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RefreshTokenSweeper {
+    private final RefreshTokenStore refreshTokenStore;
+
+    @Scheduled(fixedDelayString = "${auth.refresh-tokens.sweep-interval:PT10M}")
+    public void removeExpiredTokens() {
+        final int removed = refreshTokenStore.removeExpired(Instant.now());
+        if (removed > 0) {
+            log.debug("Removed {} expired refresh tokens", removed);
+        }
+    }
+}
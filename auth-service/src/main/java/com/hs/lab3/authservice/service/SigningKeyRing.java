@@ -0,0 +1,183 @@
+package com.hs.lab3.authservice.service;
+
+import com.hs.lab3.authservice.model.SigningKey;
+import com.hs.lab3.authservice.repository.SigningKeyStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Access-token signing keys. A new key is published {@code activation-delay} before it starts signing, so every
+ * replica and every gateway JWKS cache knows it by the time the first token carries its {@code kid}. The newest
+ * active key signs; older keys stay published for verification until {@code rotation-interval + overlap} has
+ * passed since they were created, so tokens signed right before a rotation remain verifiable as well.
+ * <p>
+ * {@code activation-delay} has to cover the longest key-set cache in front of this service: this ring's own
+ * {@code refresh-interval} and the gateway's {@code jwks-ttl}.
+ */
+@Slf4j
+@Component
+public class SigningKeyRing {
+    private static final int RSA_KEY_SIZE = 2048;
+
+    private final SigningKeyStore signingKeyStore;
+    private final Duration rotationInterval;
+    private final Duration overlap;
+    private final Duration activationDelay;
+    private final Duration refreshInterval;
+    private final Duration unknownKidReloadInterval;
+
+    private volatile Snapshot snapshot = new Snapshot(List.of(), Map.of(), Instant.EPOCH);
+
+    public SigningKeyRing(
+            SigningKeyStore signingKeyStore,
+            @Value("${jwt.keys.rotation-interval:P1D}") Duration rotationInterval,
+            @Value("${jwt.keys.overlap:PT1H}") Duration overlap,
+            @Value("${jwt.keys.activation-delay:PT10M}") Duration activationDelay,
+            @Value("${jwt.keys.refresh-interval:PT1M}") Duration refreshInterval,
+            @Value("${jwt.keys.unknown-kid-reload-interval:PT10S}") Duration unknownKidReloadInterval) {
+        if (overlap.compareTo(JwtProvider.ACCESS_TOKEN_TTL) < 0) {
+            throw new IllegalArgumentException("jwt.keys.overlap must not be shorter than the access token lifetime");
+        }
+        if (activationDelay.compareTo(refreshInterval) < 0) {
+            throw new IllegalArgumentException("jwt.keys.activation-delay must not be shorter than jwt.keys.refresh-interval");
+        }
+        if (activationDelay.compareTo(rotationInterval) >= 0) {
+            throw new IllegalArgumentException("jwt.keys.activation-delay must be shorter than jwt.keys.rotation-interval");
+        }
+        this.signingKeyStore = signingKeyStore;
+        this.rotationInterval = rotationInterval;
+        this.overlap = overlap;
+        this.activationDelay = activationDelay;
+        this.refreshInterval = refreshInterval;
+        this.unknownKidReloadInterval = unknownKidReloadInterval;
+        refresh();
+    }
+
+    /**
+     * The newest key published for at least {@code activation-delay}. Right after the very first key has been
+     * generated no key is that old yet; nobody can hold an older key set then, so the oldest key signs.
+     */
+    public SigningKey currentKey() {
+        final List<SigningKey> keys = snapshot.keys();
+        if (keys.isEmpty()) {
+            throw new IllegalStateException("No signing key available");
+        }
+        final Instant activeBefore = Instant.now().minus(activationDelay);
+        for (SigningKey key : keys) {
+            if (!key.createdAt().isAfter(activeBefore)) {
+                return key;
+            }
+        }
+        return keys.getLast();
+    }
+
+    /**
+     * A miss reloads the key set, at most once per {@code unknown-kid-reload-interval}, in case another replica
+     * has published a key since the last refresh.
+     */
+    public Optional<PublicKey> findPublicKey(String kid) {
+        final PublicKey key = snapshot.publicKeys().get(kid);
+        if (key != null) {
+            return Optional.of(key);
+        }
+        if (snapshot.loadedAt().plus(unknownKidReloadInterval).isAfter(Instant.now())) {
+            return Optional.empty();
+        }
+        reload();
+        return Optional.ofNullable(snapshot.publicKeys().get(kid));
+    }
+
+    /**
+     * Published keys in JWK Set format (RFC 7517).
+     */
+    public Map<String, Object> jwks() {
+        final List<Map<String, Object>> keys = new ArrayList<>();
+        snapshot.publicKeys().forEach((kid, key) -> {
+            final RSAPublicKey rsaKey = (RSAPublicKey) key;
+            final Map<String, Object> jwk = new LinkedHashMap<>();
+            jwk.put("kty", "RSA");
+            jwk.put("use", "sig");
+            jwk.put("alg", "RS256");
+            jwk.put("kid", kid);
+            jwk.put("n", base64Url(rsaKey.getModulus()));
+            jwk.put("e", base64Url(rsaKey.getPublicExponent()));
+            keys.add(jwk);
+        });
+        return Map.of("keys", keys);
+    }
+
+    /**
+     * Generates the next key {@code activation-delay} before the current one is due for rotation. A key may keep
+     * signing up to {@code refresh-interval} past its rotation, which the retention accounts for.
+     */
+    @Scheduled(fixedDelayString = "${jwt.keys.refresh-interval:PT1M}")
+    public synchronized void refresh() {
+        final Instant now = Instant.now();
+        signingKeyStore.deleteCreatedBefore(now.minus(rotationInterval).minus(refreshInterval).minus(overlap));
+
+        List<SigningKey> keys = signingKeyStore.findAll();
+        if (keys.isEmpty() || keys.getFirst().createdAt().plus(rotationInterval).minus(activationDelay).isBefore(now)) {
+            final SigningKey generated = generateKey(now);
+            signingKeyStore.save(generated);
+            log.info("Published next access token signing key, kid: {}, signing from {}",
+                    generated.kid(), now.plus(activationDelay));
+            keys = signingKeyStore.findAll();
+        }
+        snapshot = snapshot(keys, now);
+    }
+
+    private synchronized void reload() {
+        final Instant now = Instant.now();
+        if (snapshot.loadedAt().plus(unknownKidReloadInterval).isAfter(now)) {
+            return;
+        }
+        final List<SigningKey> keys = signingKeyStore.findAll();
+        if (!keys.isEmpty()) {
+            snapshot = snapshot(keys, now);
+        }
+    }
+
+    private static Snapshot snapshot(List<SigningKey> keys, Instant loadedAt) {
+        final Map<String, PublicKey> publicKeys = new LinkedHashMap<>();
+        keys.forEach(key -> publicKeys.put(key.kid(), key.publicKey()));
+        return new Snapshot(List.copyOf(keys), Collections.unmodifiableMap(publicKeys), loadedAt);
+    }
+
+    private static SigningKey generateKey(Instant createdAt) {
+        try {
+            final KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(RSA_KEY_SIZE);
+            final KeyPair keyPair = generator.generateKeyPair();
+            return new SigningKey(
+                    UUID.randomUUID().toString(),
+                    (RSAPrivateKey) keyPair.getPrivate(),
+                    (RSAPublicKey) keyPair.getPublic(),
+                    createdAt);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("RSA is not available", e);
+        }
+    }
+
+    private static String base64Url(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private record Snapshot(List<SigningKey> keys, Map<String, PublicKey> publicKeys, Instant loadedAt) {}
+}
@@ -0,0 +1,59 @@
+package com.hs.lab3.authservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.hs.lab3.authservice.jwt.JwtUtils;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.NonNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Remembers access tokens that already passed signature verification, keyed by token digest.
+ * Every entry expires together with its token, so a hit never has to re-check the signature.
+ */
+@Component
+public class VerifiedTokenCache {
+    private final JwtProvider jwtProvider;
+    private final Cache<String, Claims> cache;
+
+    public VerifiedTokenCache(
+            JwtProvider jwtProvider,
+            MeterRegistry meterRegistry,
+            @Value("${jwt.verified-cache.max-size:10000}") long maxSize) {
+        this.jwtProvider = jwtProvider;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(Expiry.creating((String digest, Claims claims) -> untilExpiration(claims)))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.verified-tokens");
+    }
+
+    public Optional<Claims> getAccessClaims(@NonNull String token) {
+        return Optional.ofNullable(cache.get(JwtUtils.digest(token),
+                digest -> jwtProvider.parseAccessToken(token).orElse(null)));
+    }
+
+    public long hitCount() {
+        return cache.stats().hitCount();
+    }
+
+    public long missCount() {
+        return cache.stats().missCount();
+    }
+
+    private static Duration untilExpiration(Claims claims) {
+        if (claims.getExpiration() == null) {
+            return Duration.ZERO;
+        }
+        return Duration.between(Instant.now(), claims.getExpiration().toInstant());
+    }
+}
@@ -0,0 +1,8 @@
+CREATE TABLE IF NOT EXISTS signing_keys (
+                        kid VARCHAR(64) PRIMARY KEY,
+                        private_key TEXT NOT NULL,
+                        public_key TEXT NOT NULL,
+                        created_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_signing_keys_created_at ON signing_keys (created_at);
@@ -0,0 +1,6 @@
+CREATE TABLE IF NOT EXISTS revoked_access_tokens (
+                        token_id VARCHAR(36) PRIMARY KEY,
+                        expires_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_revoked_access_tokens_expires_at ON revoked_access_tokens (expires_at);
@@ -0,0 +1,56 @@
+package com.hs.lab3.authservice.jwt;
+
+import com.hs.lab3.authservice.model.Role;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtUtilsTest {
+
+    @Test
+    void readsRoleMask() {
+        final Claims claims = claims(Map.of("v", 2, "rm", Role.toMask(List.of(Role.ADMIN, Role.LEAD))));
+
+        assertThat(JwtUtils.getRoles(claims)).containsExactlyInAnyOrder(Role.ADMIN, Role.LEAD);
+        assertThat(JwtUtils.generate(claims).getRoles()).containsExactlyInAnyOrder(Role.ADMIN, Role.LEAD);
+    }
+
+    @Test
+    void readsLegacyRoleNames() {
+        assertThat(JwtUtils.getRoles(claims(Map.of("roles", List.of("VIEWER", "REDACTOR")))))
+                .containsExactlyInAnyOrder(Role.VIEWER, Role.REDACTOR);
+        assertThat(JwtUtils.getRoles(claims(Map.of("roles", List.of())))).isEmpty();
+    }
+
+    @Test
+    void missingOrMalformedRoleClaimIsInvalid() {
+        assertThat(JwtUtils.getRoles(claims(Map.of("v", 2)))).isNull();
+        assertThat(JwtUtils.getRoles(claims(Map.of("v", 2, "rm", "3")))).isNull();
+        assertThat(JwtUtils.getRoles(claims(Map.of()))).isNull();
+        assertThat(JwtUtils.getRoles(claims(Map.of("roles", "ADMIN")))).isNull();
+        assertThat(JwtUtils.getRoles(claims(Map.of("roles", List.of("ADMIN", 1))))).isNull();
+        assertThat(JwtUtils.getRoles(claims(Map.of("roles", List.of("ROOT"))))).isNull();
+    }
+
+    @Test
+    void generateRejectsClaimsWithoutRoles() {
+        assertThatThrownBy(() -> JwtUtils.generate(claims(Map.of("v", 2))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Claims claims(Map<String, ?> roleClaims) {
+        return Jwts.claims()
+                .add(roleClaims)
+                .id("token-id")
+                .subject("alice")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .build();
+    }
+}
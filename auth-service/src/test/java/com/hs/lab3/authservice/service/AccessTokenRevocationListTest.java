@@ -0,0 +1,117 @@
+package com.hs.lab3.authservice.service;
+
+import com.hs.lab3.authservice.repository.InMemoryRevokedTokenStore;
+import com.hs.lab3.authservice.service.AccessTokenRevocationList.BloomFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccessTokenRevocationListTest {
+    private final InMemoryRevokedTokenStore store = new InMemoryRevokedTokenStore();
+    private final AccessTokenRevocationList revocationList =
+            new AccessTokenRevocationList(store, new SimpleMeterRegistry(), 16);
+
+    @Test
+    void reportsOnlyRevokedTokens() {
+        final String revoked = UUID.randomUUID().toString();
+        revocationList.revoke(revoked, Instant.now().plusSeconds(60));
+
+        assertThat(revocationList.isRevoked(revoked)).isTrue();
+        assertThat(revocationList.isRevoked(UUID.randomUUID().toString())).isFalse();
+        assertThat(revocationList.isRevoked(null)).isFalse();
+    }
+
+    @Test
+    void refreshPicksUpRevocationsOfOtherReplicas() {
+        final String revokedElsewhere = UUID.randomUUID().toString();
+        store.save(revokedElsewhere, Instant.now().plusSeconds(60));
+        assertThat(revocationList.isRevoked(revokedElsewhere)).isFalse();
+
+        revocationList.refresh();
+
+        assertThat(revocationList.isRevoked(revokedElsewhere)).isTrue();
+    }
+
+    @Test
+    void refreshPrunesExpiredTokens() {
+        final String expired = UUID.randomUUID().toString();
+        final String active = UUID.randomUUID().toString();
+        revocationList.revoke(expired, Instant.now().minusSeconds(1));
+        revocationList.revoke(active, Instant.now().plusSeconds(60));
+
+        revocationList.refresh();
+
+        assertThat(revocationList.isRevoked(expired)).isFalse();
+        assertThat(revocationList.isRevoked(active)).isTrue();
+    }
+
+    @Test
+    void rebuildKeepsEveryRevocationBeyondTheExpectedCount() {
+        final String[] ids = new String[5_000];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = UUID.randomUUID().toString();
+            store.save(ids[i], Instant.now().plusSeconds(60));
+        }
+
+        revocationList.refresh();
+
+        for (String id : ids) {
+            assertThat(revocationList.isRevoked(id)).isTrue();
+        }
+    }
+
+    @Test
+    void bloomFilterHasNoFalseNegativesAndFewFalsePositives() {
+        final int entries = 10_000;
+        final BloomFilter filter = new BloomFilter(entries);
+        for (int i = 0; i < entries; i++) {
+            filter.put("revoked-" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < entries; i++) {
+            assertThat(filter.mightContain("revoked-" + i)).isTrue();
+            if (filter.mightContain("other-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives).isLessThan(entries * 3 / 100);
+    }
+
+    @Test
+    void bloomFilterSizeIsRoundedUpToWholeWords() {
+        assertThat(new BloomFilter(0).bitCount()).isEqualTo(64);
+        assertThat(new BloomFilter(1).bitCount()).isEqualTo(64);
+        assertThat(new BloomFilter(7).bitCount()).isEqualTo(128);
+        assertThat(new BloomFilter(1000).bitCount()).isEqualTo(10_048);
+    }
+
+    @Test
+    void bitIndexStaysInRangeWhenTheHashOverflows() {
+        final int bitCount = 128;
+        final int[] hashes = {0, 1, -1, 63, 64, Integer.MAX_VALUE, Integer.MIN_VALUE};
+        for (int hash1 : hashes) {
+            for (int hash2 : hashes) {
+                for (int i = 0; i < 7; i++) {
+                    assertThat(BloomFilter.bitIndex(hash1, hash2, i, bitCount)).isBetween(0, bitCount - 1);
+                }
+            }
+        }
+        assertThat(BloomFilter.bitIndex(-1, 0, 0, bitCount)).isEqualTo(127);
+        assertThat(BloomFilter.bitIndex(63, 1, 1, bitCount)).isEqualTo(64);
+        assertThat(BloomFilter.bitIndex(Integer.MAX_VALUE, 1, 1, bitCount)).isEqualTo(0);
+    }
+
+    @Test
+    void singleWordFilterAddressesEveryBit() {
+        final BloomFilter filter = new BloomFilter(1);
+        for (int i = 0; i < 1_000; i++) {
+            filter.put("token-" + i);
+            assertThat(filter.mightContain("token-" + i)).isTrue();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.hs.lab3.authservice.service;
+
+import com.hs.lab3.authservice.exceptions.LoginThrottledException;
+import com.hs.lab3.authservice.service.LoginThrottle.Bucket;
+import com.hs.lab3.authservice.service.LoginThrottle.Limit;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+class LoginThrottleTest {
+    private static final long SECOND = Duration.ofSeconds(1).toNanos();
+    private static final Limit FIVE_PER_MINUTE = new Limit(5, 12 * SECOND);
+
+    @Test
+    void allowsBurstOfCapacityThenReportsWaitForNextToken() {
+        final Bucket bucket = new Bucket();
+        final long now = 1_000 * SECOND;
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(bucket.tryAcquire(FIVE_PER_MINUTE, now)).isZero();
+        }
+        assertThat(bucket.tryAcquire(FIVE_PER_MINUTE, now)).isEqualTo(12 * SECOND);
+    }
+
+    @Test
+    void refillsOneTokenPerInterval() {
+        final Bucket bucket = new Bucket();
+        final long now = 1_000 * SECOND;
+        exhaust(bucket, now);
+
+        assertThat(bucket.tryAcquire(FIVE_PER_MINUTE, now + 5 * SECOND)).isEqualTo(7 * SECOND);
+        assertThat(bucket.tryAcquire(FIVE_PER_MINUTE, now + 12 * SECOND)).isZero();
+        assertThat(bucket.tryAcquire(FIVE_PER_MINUTE, now + 12 * SECOND)).isEqualTo(12 * SECOND);
+    }
+
+    @Test
+    void rejectedAttemptsDoNotConsumeTokens() {
+        final Bucket bucket = new Bucket();
+        final long now = 1_000 * SECOND;
+        exhaust(bucket, now);
+
+        for (int i = 0; i < 100; i++) {
+            bucket.tryAcquire(FIVE_PER_MINUTE, now + 1);
+        }
+
+        assertThat(bucket.tryAcquire(FIVE_PER_MINUTE, now + 12 * SECOND)).isZero();
+    }
+
+    @Test
+    void idleBucketRefillsToCapacityButNotBeyond() {
+        final Bucket bucket = new Bucket();
+        final long now = 1_000 * SECOND;
+        exhaust(bucket, now);
+
+        final long later = now + 3_600 * SECOND;
+        for (int i = 0; i < 5; i++) {
+            assertThat(bucket.tryAcquire(FIVE_PER_MINUTE, later)).isZero();
+        }
+        assertThat(bucket.tryAcquire(FIVE_PER_MINUTE, later)).isEqualTo(12 * SECOND);
+    }
+
+    @Test
+    void worksWithNegativeAndWrappingClockValues() {
+        final Bucket negative = new Bucket();
+        exhaust(negative, -1_000 * SECOND);
+        assertThat(negative.tryAcquire(FIVE_PER_MINUTE, -1_000 * SECOND)).isEqualTo(12 * SECOND);
+
+        final Bucket wrapping = new Bucket();
+        final long beforeWrap = Long.MAX_VALUE - 30 * SECOND;
+        exhaust(wrapping, beforeWrap);
+        assertThat(wrapping.tryAcquire(FIVE_PER_MINUTE, beforeWrap + 12 * SECOND)).isZero();
+    }
+
+    @Test
+    void throttlesPerLoginAndReportsRetryAfter() {
+        final LoginThrottle throttle = throttle(true);
+        throttle.acquire("alice", "10.0.0.1");
+
+        final LoginThrottledException exception = catchThrowableOfType(
+                () -> throttle.acquire("alice", "10.0.0.2"), LoginThrottledException.class);
+
+        assertThat(exception.getRetryAfter()).isPositive().isLessThanOrEqualTo(Duration.ofSeconds(10));
+        assertThat(exception.getRetryAfterSeconds()).isEqualTo(10);
+        throttle.acquire("bob", "10.0.0.1");
+    }
+
+    @Test
+    void throttlesPerAddressAcrossLogins() {
+        final LoginThrottle throttle = throttle(true);
+        throttle.acquire("alice", "10.0.0.1");
+        throttle.acquire("bob", "10.0.0.1");
+        throttle.acquire("carol", "10.0.0.1");
+
+        assertThatThrownBy(() -> throttle.acquire("dave", "10.0.0.1"))
+                .isInstanceOf(LoginThrottledException.class);
+    }
+
+    @Test
+    void disabledThrottleNeverRejects() {
+        final LoginThrottle throttle = throttle(false);
+
+        for (int i = 0; i < 100; i++) {
+            throttle.acquire("alice", "10.0.0.1");
+        }
+    }
+
+    @Test
+    void retryAfterIsRoundedUpToWholeSeconds() {
+        assertThat(new LoginThrottledException("", Duration.ofMillis(11_100)).getRetryAfterSeconds()).isEqualTo(12);
+        assertThat(new LoginThrottledException("", Duration.ofSeconds(12)).getRetryAfterSeconds()).isEqualTo(12);
+        assertThat(new LoginThrottledException("", Duration.ofNanos(1)).getRetryAfterSeconds()).isEqualTo(1);
+        assertThat(new LoginThrottledException("", Duration.ZERO).getRetryAfterSeconds()).isEqualTo(1);
+    }
+
+    private static void exhaust(Bucket bucket, long now) {
+        for (int i = 0; i < FIVE_PER_MINUTE.capacity(); i++) {
+            assertThat(bucket.tryAcquire(FIVE_PER_MINUTE, now)).isZero();
+        }
+    }
+
+    /**
+     * One attempt per login every 10 seconds, three per address every 10 seconds.
+     */
+    private static LoginThrottle throttle(boolean enabled) {
+        return new LoginThrottle(new SimpleMeterRegistry(), enabled,
+                1, Duration.ofSeconds(10), 3, Duration.ofSeconds(10), 1_000, Duration.ofMinutes(15));
+    }
+}
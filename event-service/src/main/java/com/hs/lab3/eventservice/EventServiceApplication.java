@@ -1,10 +1,12 @@
-package java.com.hs.lab3.eventservice;
+package com.hs.lab3.eventservice;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import reactivefeign.spring.config.EnableReactiveFeignClients;
 
 @SpringBootApplication
+@EnableScheduling
 @EnableReactiveFeignClients(basePackages = "com.hs.lab2.eventservice.client")
 public class EventServiceApplication {
 
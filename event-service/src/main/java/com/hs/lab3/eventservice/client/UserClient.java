@@ -1,6 +1,6 @@
-package java.com.hs.lab3.eventservice.client;
+package com.hs.lab3.eventservice.client;
 
-import java.com.hs.lab3.eventservice.dto.responses.UserDto;
+import com.hs.lab3.eventservice.dto.responses.UserDto;
 import org.springframework.stereotype.Component;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
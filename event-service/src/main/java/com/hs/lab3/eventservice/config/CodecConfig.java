@@ -0,0 +1,26 @@
+package com.hs.lab3.eventservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Lets endpoints answer {@code application/cbor} when the client asks for it, and read it back, with one
+ * CBOR mapper for both directions.
+ */
+@Configuration
+public class CodecConfig {
+
+    @Bean
+    public CodecCustomizer cborCodecCustomizer() {
+        final ObjectMapper cborMapper = Jackson2ObjectMapperBuilder.cbor().build();
+        return configurer -> {
+            configurer.customCodecs().register(new Jackson2CborEncoder(cborMapper));
+            configurer.customCodecs().register(new Jackson2CborDecoder(cborMapper));
+        };
+    }
+}
@@ -0,0 +1,34 @@
+package com.hs.lab3.eventservice.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Connection-acquire latency on top of the pool gauges ({@code r2dbc.pool.acquired}, {@code idle},
+ * {@code pending}, ...) that actuator publishes for the r2dbc pool.
+ */
+@Configuration
+public class R2dbcMetricsConfig {
+
+    @Bean
+    public static BeanPostProcessor timedConnectionFactoryPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof ConnectionFactory connectionFactory && !(bean instanceof TimedConnectionFactory)) {
+                    final Timer acquireTimer = Timer.builder("r2dbc.pool.acquire")
+                            .tag("name", beanName)
+                            .publishPercentileHistogram()
+                            .register(meterRegistry.getObject());
+                    return new TimedConnectionFactory(connectionFactory, acquireTimer);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,117 @@
+package com.hs.lab3.eventservice.config;
+
+import com.hs.lab3.eventservice.repository.EventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.lang.reflect.Array;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Latency histogram per repository method ({@code events.repository.query}), measured from subscription
+ * to completion for {@link Mono} results and to the first signal for {@link Flux} results. A streamed result is
+ * read as fast as its consumer requests it, so its completion says nothing about the query.
+ * Queries slower than {@code slow-threshold} are logged with the shape of their arguments,
+ * types and collection sizes, never the values.
+ */
+@Slf4j
+@Aspect
+@Component
+public class RepositoryMetricsAspect {
+    private final MeterRegistry meterRegistry;
+    private final long slowThresholdNanos;
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    public RepositoryMetricsAspect(MeterRegistry meterRegistry,
+                                   @Value("${events.query-metrics.slow-threshold:PT0.2S}") Duration slowThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    @Around("target(com.hs.lab3.eventservice.repository.EventRepository)"
+            + " || execution(public * com.hs.lab3.eventservice.repository.*Repository.*(..))")
+    public Object timeQuery(ProceedingJoinPoint joinPoint) throws Throwable {
+        final Object result = joinPoint.proceed();
+        final String repository = joinPoint.getTarget() instanceof EventRepository
+                ? EventRepository.class.getSimpleName()
+                : AopUtils.getTargetClass(joinPoint.getTarget()).getSimpleName();
+        final String method = joinPoint.getSignature().getName();
+
+        if (result instanceof Mono<?> mono) {
+            return Mono.defer(() -> {
+                final long start = System.nanoTime();
+                return mono.doFinally(signal -> record(repository, method, signal.name(), start, joinPoint.getArgs()));
+            });
+        }
+        if (result instanceof Flux<?> flux) {
+            return Flux.defer(() -> {
+                final long start = System.nanoTime();
+                final AtomicBoolean recorded = new AtomicBoolean();
+                final Consumer<SignalType> recordFirst = signal -> {
+                    if (recorded.compareAndSet(false, true)) {
+                        record(repository, method, signal.name(), start, joinPoint.getArgs());
+                    }
+                };
+                return flux.doOnEach(signal -> recordFirst.accept(signal.getType()))
+                        .doOnCancel(() -> recordFirst.accept(SignalType.CANCEL));
+            });
+        }
+        return result;
+    }
+
+    private void record(String repository, String method, String signal, long start, Object[] args) {
+        final long elapsed = System.nanoTime() - start;
+        timers.computeIfAbsent(new TimerKey(repository, method, signal), this::register)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+        if (elapsed > slowThresholdNanos) {
+            log.warn("Slow query {}.{} took {} ms, arguments: {}",
+                    repository, method, elapsed / 1_000_000, shapeOf(args));
+        }
+    }
+
+    private Timer register(TimerKey key) {
+        return Timer.builder("events.repository.query")
+                .tag("repository", key.repository())
+                .tag("method", key.method())
+                .tag("signal", key.signal())
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static String shapeOf(Object[] args) {
+        return Arrays.stream(args)
+                .map(arg -> {
+                    if (arg == null) {
+                        return "null";
+                    }
+                    if (arg instanceof Collection<?> collection) {
+                        return arg.getClass().getSimpleName() + "[" + collection.size() + "]";
+                    }
+                    if (arg.getClass().isArray()) {
+                        return arg.getClass().getComponentType().getSimpleName() + "[" + Array.getLength(arg) + "]";
+                    }
+                    return arg.getClass().getSimpleName();
+                })
+                .collect(Collectors.joining(", ", "(", ")"));
+    }
+
+    private record TimerKey(String repository, String method, String signal) {}
+}
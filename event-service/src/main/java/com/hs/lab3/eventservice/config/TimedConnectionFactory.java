@@ -0,0 +1,42 @@
+package com.hs.lab3.eventservice.config;
+
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import io.r2dbc.spi.Wrapped;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
+
+/**
+ * Records how long callers wait for a connection. Implements {@link Wrapped} so that actuator still finds
+ * the underlying pool for its gauges.
+ */
+class TimedConnectionFactory implements ConnectionFactory, Wrapped<ConnectionFactory> {
+    private final ConnectionFactory delegate;
+    private final Timer acquireTimer;
+
+    TimedConnectionFactory(ConnectionFactory delegate, Timer acquireTimer) {
+        this.delegate = delegate;
+        this.acquireTimer = acquireTimer;
+    }
+
+    @Override
+    public Publisher<? extends Connection> create() {
+        return Mono.defer(() -> {
+            final Timer.Sample sample = Timer.start();
+            return Mono.<Connection>from(delegate.create())
+                    .doFinally(signal -> sample.stop(acquireTimer));
+        });
+    }
+
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+        return delegate.getMetadata();
+    }
+
+    @Override
+    public ConnectionFactory unwrap() {
+        return delegate;
+    }
+}
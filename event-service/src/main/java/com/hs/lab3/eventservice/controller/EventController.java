@@ -1,16 +1,24 @@
-package java.com.hs.lab3.eventservice.controller;
+package com.hs.lab3.eventservice.controller;
 
-import java.com.hs.lab3.eventservice.dto.requests.CreateEventRequest;
-import java.com.hs.lab3.eventservice.dto.responses.EventDto;
-import java.com.hs.lab3.eventservice.entity.Event;
-import java.com.hs.lab3.eventservice.mapper.EventMapper;
-import java.com.hs.lab3.eventservice.service.EventService;
+import com.hs.lab3.eventservice.dto.requests.CreateEventRequest;
+import com.hs.lab3.eventservice.dto.responses.BulkEventResultDto;
+import com.hs.lab3.eventservice.dto.responses.BusyIntervalDto;
+import com.hs.lab3.eventservice.dto.responses.EventChangeDto;
+import com.hs.lab3.eventservice.dto.responses.EventCursorPageDto;
+import com.hs.lab3.eventservice.dto.responses.EventDto;
+import com.hs.lab3.eventservice.dto.responses.UserBusyDto;
+import com.hs.lab3.eventservice.entity.Event;
+import com.hs.lab3.eventservice.mapper.EventMapper;
+import com.hs.lab3.eventservice.service.EventChangeFeed;
+import com.hs.lab3.eventservice.service.EventService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
@@ -25,6 +33,7 @@ import java.util.List;
 public class EventController {
     private final EventService eventService;
     private final EventMapper eventMapper;
+    private final EventChangeFeed eventChangeFeed;
 
     @PostMapping
     public Mono<ResponseEntity<EventDto>> addEvent(@Valid @RequestBody CreateEventRequest request) {
@@ -39,12 +48,46 @@ public class EventController {
                 .map(ResponseEntity::ok);
     }
 
+    @PostMapping("/bulk")
+    public Mono<List<BulkEventResultDto>> addEvents(@RequestBody List<CreateEventRequest> requests) {
+        return eventService.addEvents(requests)
+                .map(results -> results.stream()
+                        .map(result -> new BulkEventResultDto(
+                                result.index(),
+                                result.status(),
+                                result.event() == null ? null : eventMapper.toEventDto(result.event()),
+                                result.message()))
+                        .toList());
+    }
+
     @GetMapping
     public Flux<EventDto> getAllEvents() {
         return eventService.getAllEvents()
                 .map(eventMapper::toEventDto);
     }
 
+    /**
+     * Same listing as {@link #getAllEvents()} for clients asking for NDJSON or SSE, streamed row by row
+     * with backpressure down to the database.
+     */
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<EventDto> streamEvents(
+            @RequestParam(required = false) Long ownerId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate) {
+        return eventService.streamEvents(ownerId, fromDate, toDate)
+                .map(eventMapper::toEventDto);
+    }
+
+    /**
+     * Creates and deletes of events as they are committed. With {@code since}, the retained changes after that
+     * sequence are sent first; {@code 410 Gone} means they are no longer retained and the caller has to reload.
+     */
+    @GetMapping(path = "/changes", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<EventChangeDto> getChanges(@RequestParam(required = false) @Min(0) Long since) {
+        return eventChangeFeed.changesSince(since);
+    }
+
     @GetMapping(path = "/{id}")
     public Mono<ResponseEntity<EventDto>> getEventById(@PathVariable @Min(1) Long id) {
         return eventService.getEventById(id)
@@ -62,6 +105,16 @@ public class EventController {
         return eventService.getUserEventsById(id, pageable);
     }
 
+    @GetMapping(path = "/owner/{id}", params = "cursor")
+    public Mono<EventCursorPageDto> getUserEventsByCursor(
+            @PathVariable Long id,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(100) int size
+    ) {
+        return eventService.getUserEventsAfter(id, cursor, size)
+                .map(page -> new EventCursorPageDto(eventMapper.toEventDtoList(page.events()), page.nextCursor()));
+    }
+
     @DeleteMapping(path = "/{id}")
     public Mono<ResponseEntity<Void>> deleteEventById(@PathVariable @Min(1) Long id) {
         return eventService.deleteEventById(id)
@@ -77,4 +130,31 @@ public class EventController {
         return eventService.getBusyEventsForUsersBetweenDates(userIds, startDate, endDate)
                 .map(eventMapper::toEventDto);
     }
+
+    /**
+     * Busy times only, grouped per user and date, as minute-of-day pairs. Served as JSON or, when asked for
+     * with {@code Accept: application/cbor}, as CBOR.
+     */
+    @GetMapping(path = "/busy/compact", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public Mono<List<UserBusyDto>> getBusyMinutesForUsersBetweenDates(
+            @RequestParam List<Long> userIds,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+
+        return eventService.getBusyMinutesForUsersBetweenDates(userIds, startDate, endDate)
+                .collectList();
+    }
+
+    /**
+     * Time during which at least one of the users is busy, merged per date. The size of the answer depends on
+     * how fragmented the common calendar is, not on the number of users.
+     */
+    @GetMapping("/busy/merged")
+    public Flux<BusyIntervalDto> getMergedBusyIntervalsForUsersBetweenDates(
+            @RequestParam List<Long> userIds,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+
+        return eventService.getMergedBusyIntervalsForUsersBetweenDates(userIds, startDate, endDate);
+    }
 }
@@ -1,15 +1,18 @@
-package java.com.hs.lab3.eventservice.dto.requests;
+package com.hs.lab3.eventservice.dto.requests;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
 
 public record CreateEventRequest(
         @NotBlank
+        @Size(max = 20)
         String name,
+        @Size(max = 200)
         String description,
         @NotNull
         LocalDate date,
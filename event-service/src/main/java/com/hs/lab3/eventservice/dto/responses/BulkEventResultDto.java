@@ -0,0 +1,18 @@
+package com.hs.lab3.eventservice.dto.responses;
+
+/**
+ * Outcome of one item of a bulk create, {@code index} refers to its position in the request.
+ */
+public record BulkEventResultDto(
+        int index,
+        Status status,
+        EventDto event,
+        String message
+) {
+    public enum Status {
+        CREATED,
+        CONFLICT,
+        OWNER_NOT_FOUND,
+        INVALID
+    }
+}
@@ -0,0 +1,10 @@
+package com.hs.lab3.eventservice.dto.responses;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+public record BusyIntervalDto(
+        LocalDate date,
+        LocalTime startTime,
+        LocalTime endTime
+) {}
@@ -0,0 +1,25 @@
+package com.hs.lab3.eventservice.dto.responses;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+
+/**
+ * One journaled mutation of {@code events}. {@code seq} grows with every change and is what a consumer
+ * passes back as {@code since} to resume the feed.
+ */
+public record EventChangeDto(
+        long seq,
+        Type type,
+        Long eventId,
+        Long ownerId,
+        LocalDate date,
+        LocalTime startTime,
+        LocalTime endTime,
+        OffsetDateTime changedAt
+) {
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+}
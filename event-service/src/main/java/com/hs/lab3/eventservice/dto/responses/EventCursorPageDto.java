@@ -0,0 +1,11 @@
+package com.hs.lab3.eventservice.dto.responses;
+
+import java.util.List;
+
+/**
+ * @param nextCursor cursor of the following page, {@code null} on the last page
+ */
+public record EventCursorPageDto(
+        List<EventDto> items,
+        String nextCursor
+) {}
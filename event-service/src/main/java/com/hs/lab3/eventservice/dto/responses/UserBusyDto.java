@@ -0,0 +1,21 @@
+package com.hs.lab3.eventservice.dto.responses;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Busy times of one user without event details.
+ */
+public record UserBusyDto(
+        Long userId,
+        List<DayBusyDto> days
+) {
+    /**
+     * @param minutes start and end of each event as minute of day, packed as {@code [start0, end0, start1, end1, ...]}
+     *                and ordered by start
+     */
+    public record DayBusyDto(
+            LocalDate date,
+            int[] minutes
+    ) {}
+}
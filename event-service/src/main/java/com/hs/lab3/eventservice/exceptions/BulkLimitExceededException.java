@@ -0,0 +1,7 @@
+package com.hs.lab3.eventservice.exceptions;
+
+public class BulkLimitExceededException extends RuntimeException {
+    public BulkLimitExceededException(String message) {
+        super(message);
+    }
+}
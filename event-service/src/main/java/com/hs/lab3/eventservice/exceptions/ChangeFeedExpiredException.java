@@ -0,0 +1,7 @@
+package com.hs.lab3.eventservice.exceptions;
+
+public class ChangeFeedExpiredException extends RuntimeException {
+    public ChangeFeedExpiredException(String message) {
+        super(message);
+    }
+}
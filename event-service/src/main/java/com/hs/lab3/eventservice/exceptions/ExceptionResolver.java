@@ -1,4 +1,4 @@
-package java.com.hs.lab3.eventservice.exceptions;
+package com.hs.lab3.eventservice.exceptions;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springdoc.api.ErrorMessage;
@@ -34,6 +34,30 @@ public class ExceptionResolver {
                 .body(new ErrorMessage(exception.getMessage()));
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorMessage> invalidCursorException(InvalidCursorException exception) {
+        log.warn("InvalidCursorException: {}", exception.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorMessage(exception.getMessage()));
+    }
+
+    @ExceptionHandler(BulkLimitExceededException.class)
+    public ResponseEntity<ErrorMessage> bulkLimitExceededException(BulkLimitExceededException exception) {
+        log.warn("BulkLimitExceededException: {}", exception.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorMessage(exception.getMessage()));
+    }
+
+    @ExceptionHandler(ChangeFeedExpiredException.class)
+    public ResponseEntity<ErrorMessage> changeFeedExpiredException(ChangeFeedExpiredException exception) {
+        log.warn("ChangeFeedExpiredException: {}", exception.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.GONE)
+                .body(new ErrorMessage(exception.getMessage()));
+    }
+
     @ExceptionHandler(UserServiceUnavailableException.class)
     public ResponseEntity<ErrorMessage> handleUserServiceUnavailable(UserServiceUnavailableException exception) {
         log.warn("UserServiceUnavailableException: ", exception);
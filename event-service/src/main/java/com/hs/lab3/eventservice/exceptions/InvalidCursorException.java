@@ -0,0 +1,7 @@
+package com.hs.lab3.eventservice.exceptions;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -1,4 +1,4 @@
-package java.com.hs.lab3.eventservice.exceptions;
+package com.hs.lab3.eventservice.exceptions;
 
 public class UserNotFoundException extends RuntimeException {
   public UserNotFoundException(String message) {
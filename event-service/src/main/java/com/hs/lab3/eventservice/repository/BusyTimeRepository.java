@@ -0,0 +1,93 @@
+package com.hs.lab3.eventservice.repository;
+
+import com.hs.lab3.eventservice.dto.responses.BusyIntervalDto;
+import com.hs.lab3.eventservice.dto.responses.UserBusyDto;
+import com.hs.lab3.eventservice.dto.responses.UserBusyDto.DayBusyDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Free/busy projections of {@code events}: only owner, date and times are read, times as minutes of day.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BusyTimeRepository {
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Busy minutes per user and date. Users without events in the range are left out.
+     */
+    public Flux<UserBusyDto> findBusyMinutes(List<Long> userIds, LocalDate startDate, LocalDate endDate) {
+        return databaseClient.sql("""
+                        SELECT owner_id,
+                               date,
+                               floor(extract(epoch FROM start_time) / 60)::int AS start_minute,
+                               ceil(extract(epoch FROM end_time) / 60)::int AS end_minute
+                        FROM events
+                        WHERE owner_id IN (:userIds)
+                          AND date BETWEEN :startDate AND :endDate
+                        ORDER BY owner_id, date, start_time
+                        """)
+                .bind("userIds", userIds)
+                .bind("startDate", startDate)
+                .bind("endDate", endDate)
+                .map((row, metadata) -> new BusyRow(
+                        row.get("owner_id", Long.class),
+                        row.get("date", LocalDate.class),
+                        row.get("start_minute", Integer.class),
+                        row.get("end_minute", Integer.class)))
+                .all()
+                .bufferUntilChanged(row -> new DayKey(row.ownerId(), row.date()))
+                .map(BusyTimeRepository::toDay)
+                .bufferUntilChanged(OwnedDay::ownerId)
+                .map(days -> new UserBusyDto(days.getFirst().ownerId(), days.stream().map(OwnedDay::day).toList()));
+    }
+
+    /**
+     * Union of the busy time of all given users, per date: overlapping and touching events are merged
+     * by {@code range_agg} over the {@code during} ranges, ordered by date and start.
+     */
+    public Flux<BusyIntervalDto> findMergedBusyIntervals(List<Long> userIds, LocalDate startDate, LocalDate endDate) {
+        return databaseClient.sql("""
+                        SELECT date, lower(busy)::time AS start_time, upper(busy)::time AS end_time
+                        FROM (
+                            SELECT date, unnest(range_agg(during)) AS busy
+                            FROM events
+                            WHERE owner_id IN (:userIds)
+                              AND date BETWEEN :startDate AND :endDate
+                            GROUP BY date
+                        ) merged
+                        ORDER BY date, start_time
+                        """)
+                .bind("userIds", userIds)
+                .bind("startDate", startDate)
+                .bind("endDate", endDate)
+                .map((row, metadata) -> new BusyIntervalDto(
+                        row.get("date", LocalDate.class),
+                        row.get("start_time", LocalTime.class),
+                        row.get("end_time", LocalTime.class)))
+                .all();
+    }
+
+    private static OwnedDay toDay(List<BusyRow> rows) {
+        final int[] minutes = new int[rows.size() * 2];
+        for (int i = 0; i < rows.size(); i++) {
+            minutes[2 * i] = rows.get(i).startMinute();
+            minutes[2 * i + 1] = rows.get(i).endMinute();
+        }
+        final BusyRow first = rows.getFirst();
+        return new OwnedDay(first.ownerId(), new DayBusyDto(first.date(), minutes));
+    }
+
+    private record BusyRow(Long ownerId, LocalDate date, int startMinute, int endMinute) {}
+
+    private record DayKey(Long ownerId, LocalDate date) {}
+
+    private record OwnedDay(Long ownerId, DayBusyDto day) {}
+}
@@ -0,0 +1,72 @@
+package com.hs.lab3.eventservice.repository;
+
+import com.hs.lab3.eventservice.entity.Event;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+/**
+ * Multi-row event inserts. Every chunk is a single statement over unnested arrays, overlaps with stored events
+ * are skipped by the {@code events_owner_no_overlap} exclusion constraint instead of being queried first.
+ */
+@Repository
+@RequiredArgsConstructor
+public class EventBatchRepository {
+    private static final int CHUNK_SIZE = 1000;
+
+    private final DatabaseClient databaseClient;
+    private final R2dbcEntityTemplate entityTemplate;
+
+    /**
+     * Events must not overlap each other. Returns the inserted events; events clashing with stored ones are left out.
+     */
+    public Flux<Event> insertIgnoringOverlaps(List<Event> events) {
+        return Flux.range(0, (events.size() + CHUNK_SIZE - 1) / CHUNK_SIZE)
+                .concatMap(chunk -> insertChunk(events.subList(
+                        chunk * CHUNK_SIZE, Math.min((chunk + 1) * CHUNK_SIZE, events.size()))));
+    }
+
+    private Flux<Event> insertChunk(List<Event> events) {
+        final int size = events.size();
+        final String[] names = new String[size];
+        final String[] descriptions = new String[size];
+        final String[] dates = new String[size];
+        final String[] startTimes = new String[size];
+        final String[] endTimes = new String[size];
+        final Long[] ownerIds = new Long[size];
+        for (int i = 0; i < size; i++) {
+            final Event event = events.get(i);
+            names[i] = event.getName();
+            descriptions[i] = event.getDescription();
+            dates[i] = event.getDate().toString();
+            startTimes[i] = event.getStartTime().toString();
+            endTimes[i] = event.getEndTime().toString();
+            ownerIds[i] = event.getOwnerId();
+        }
+
+        return databaseClient.sql("""
+                        INSERT INTO events (name, description, date, start_time, end_time, owner_id)
+                        SELECT * FROM unnest(
+                            CAST(:names AS varchar[]),
+                            CAST(:descriptions AS varchar[]),
+                            CAST(:dates AS date[]),
+                            CAST(:startTimes AS time[]),
+                            CAST(:endTimes AS time[]),
+                            CAST(:ownerIds AS bigint[]))
+                        ON CONFLICT DO NOTHING
+                        RETURNING *
+                        """)
+                .bind("names", names)
+                .bind("descriptions", descriptions)
+                .bind("dates", dates)
+                .bind("startTimes", startTimes)
+                .bind("endTimes", endTimes)
+                .bind("ownerIds", ownerIds)
+                .map((row, metadata) -> entityTemplate.getConverter().read(Event.class, row, metadata))
+                .all();
+    }
+}
@@ -0,0 +1,73 @@
+package com.hs.lab3.eventservice.repository;
+
+import com.hs.lab3.eventservice.dto.responses.EventChangeDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+/**
+ * Journal of event mutations written by the {@code events_record_change} trigger.
+ */
+@Repository
+public class EventChangeRepository {
+    private final DatabaseClient databaseClient;
+    private final int fetchSize;
+
+    public EventChangeRepository(DatabaseClient databaseClient,
+                                 @Value("${events.stream.fetch-size:500}") int fetchSize) {
+        this.databaseClient = databaseClient;
+        this.fetchSize = fetchSize;
+    }
+
+    public Flux<EventChangeDto> findAfter(long seq) {
+        return databaseClient.sql("SELECT * FROM event_changes WHERE seq > :seq ORDER BY seq")
+                .bind("seq", seq)
+                .filter((statement, next) -> next.execute(statement.fetchSize(fetchSize)))
+                .map((row, metadata) -> new EventChangeDto(
+                        row.get("seq", Long.class),
+                        EventChangeDto.Type.valueOf(row.get("type", String.class)),
+                        row.get("event_id", Long.class),
+                        row.get("owner_id", Long.class),
+                        row.get("date", LocalDate.class),
+                        row.get("start_time", LocalTime.class),
+                        row.get("end_time", LocalTime.class),
+                        row.get("changed_at", OffsetDateTime.class)))
+                .all();
+    }
+
+    /**
+     * @return the oldest retained sequence number, empty if the journal is empty
+     */
+    public Mono<Long> findOldestSeq() {
+        return databaseClient.sql("SELECT min(seq) AS seq FROM event_changes")
+                .map((row, metadata) -> Optional.ofNullable(row.get("seq", Long.class)))
+                .one()
+                .flatMap(Mono::justOrEmpty);
+    }
+
+    /**
+     * Removes changes older than {@code cutoff}. The newest change is always kept, so the feed can still tell
+     * a caller that is up to date from one that has fallen behind the retention window.
+     *
+     * @return number of removed changes
+     */
+    public Mono<Long> deleteChangedBefore(Instant cutoff) {
+        return databaseClient.sql("""
+                        DELETE FROM event_changes
+                        WHERE changed_at < :cutoff
+                          AND seq < (SELECT max(seq) FROM event_changes)
+                        """)
+                .bind("cutoff", cutoff.atOffset(ZoneOffset.UTC))
+                .fetch()
+                .rowsUpdated();
+    }
+}
@@ -1,6 +1,6 @@
-package java.com.hs.lab3.eventservice.repository;
+package com.hs.lab3.eventservice.repository;
 
-import java.com.hs.lab3.eventservice.entity.Event;
+import com.hs.lab3.eventservice.entity.Event;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import reactor.core.publisher.Flux;
@@ -12,19 +12,6 @@ import java.util.List;
 
 public interface EventRepository extends ReactiveCrudRepository<Event, Long> {
 
-    @Query("""
-        SELECT CASE WHEN COUNT(*) > 0 THEN TRUE ELSE FALSE END
-        FROM events
-        WHERE owner_id = :ownerId
-          AND date = :date
-          AND start_time < :endTime
-          AND end_time > :startTime
-    """)
-    Mono<Boolean> existsByOwnerAndDateAndTimeOverlap(Long ownerId,
-                                                     LocalDate date,
-                                                     LocalTime startTime,
-                                                     LocalTime endTime);
-
     @Query("""
         SELECT * FROM events 
         WHERE owner_id IN (:userIds) 
@@ -44,6 +31,23 @@ public interface EventRepository extends ReactiveCrudRepository<Event, Long> {
     """)
     Flux<Event> findByOwnerIdPaged(Long ownerId, long limit, long offset);
 
+    @Query("""
+        SELECT * FROM events
+        WHERE owner_id = :ownerId
+        ORDER BY date DESC, start_time DESC, id DESC
+        LIMIT :limit
+    """)
+    Flux<Event> findFirstByOwnerId(Long ownerId, long limit);
+
+    @Query("""
+        SELECT * FROM events
+        WHERE owner_id = :ownerId
+          AND (date, start_time, id) < (:date, :startTime, :id)
+        ORDER BY date DESC, start_time DESC, id DESC
+        LIMIT :limit
+    """)
+    Flux<Event> findByOwnerIdAfter(Long ownerId, LocalDate date, LocalTime startTime, long id, long limit);
+
     @Query("""
         SELECT COUNT(*) FROM events WHERE owner_id = :ownerId
     """)
@@ -0,0 +1,65 @@
+package com.hs.lab3.eventservice.repository;
+
+import com.hs.lab3.eventservice.entity.Event;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Event export that reads the result set in {@code fetch-size} chunks. Rows are only pulled from Postgres
+ * as fast as the subscriber requests them, so neither side ever holds the whole table.
+ */
+@Repository
+public class EventStreamRepository {
+    private final DatabaseClient databaseClient;
+    private final R2dbcEntityTemplate entityTemplate;
+    private final int fetchSize;
+
+    public EventStreamRepository(DatabaseClient databaseClient,
+                                 R2dbcEntityTemplate entityTemplate,
+                                 @Value("${events.stream.fetch-size:500}") int fetchSize) {
+        this.databaseClient = databaseClient;
+        this.entityTemplate = entityTemplate;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * @param ownerId  optional owner filter
+     * @param fromDate optional inclusive lower bound of the event date
+     * @param toDate   optional inclusive upper bound of the event date
+     */
+    public Flux<Event> streamEvents(Long ownerId, LocalDate fromDate, LocalDate toDate) {
+        final List<String> conditions = new ArrayList<>();
+        final Map<String, Object> bindings = new LinkedHashMap<>();
+        if (ownerId != null) {
+            conditions.add("owner_id = :ownerId");
+            bindings.put("ownerId", ownerId);
+        }
+        if (fromDate != null) {
+            conditions.add("date >= :fromDate");
+            bindings.put("fromDate", fromDate);
+        }
+        if (toDate != null) {
+            conditions.add("date <= :toDate");
+            bindings.put("toDate", toDate);
+        }
+
+        final String sql = "SELECT * FROM events"
+                + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions))
+                + " ORDER BY id";
+
+        return databaseClient.sql(sql)
+                .bindValues(bindings)
+                .filter((statement, next) -> next.execute(statement.fetchSize(fetchSize)))
+                .map((row, metadata) -> entityTemplate.getConverter().read(Event.class, row, metadata))
+                .all();
+    }
+}
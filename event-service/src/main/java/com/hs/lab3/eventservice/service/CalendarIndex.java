@@ -0,0 +1,229 @@
+package com.hs.lab3.eventservice.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hs.lab3.eventservice.dto.responses.BusyIntervalDto;
+import com.hs.lab3.eventservice.entity.Event;
+import com.hs.lab3.eventservice.repository.EventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Optional in-process calendar: one 1440-bit minute bitmap per (owner, date), stored as a {@code long[23]}.
+ * Bitmaps are loaded lazily, a whole batch of missing owner-days with one query, and evicted when the
+ * {@code max-bytes} budget is exceeded, coldest first. Bitmaps are never modified in place, updates swap in a copy.
+ * <p>
+ * Times are indexed at minute granularity, which is what the API accepts. The exclusion constraint stays
+ * the authority on overlaps, the index only lets obvious conflicts fail without a round trip.
+ */
+@Component
+@ConditionalOnProperty(name = "events.calendar-index.enabled", havingValue = "true")
+public class CalendarIndex {
+    static final int MINUTES_PER_DAY = 24 * 60;
+    static final int WORDS = (MINUTES_PER_DAY + Long.SIZE - 1) / Long.SIZE;
+    private static final long NANOS_PER_MINUTE = 60_000_000_000L;
+    private static final int ENTRY_BYTES = 16 + WORDS * Long.BYTES + 64;
+
+    private final EventRepository eventRepository;
+    private final AsyncCache<OwnerDay, long[]> days;
+
+    public CalendarIndex(EventRepository eventRepository,
+                         MeterRegistry meterRegistry,
+                         @Value("${events.calendar-index.max-bytes:67108864}") long maxBytes) {
+        this.eventRepository = eventRepository;
+        this.days = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((OwnerDay key, long[] bitmap) -> ENTRY_BYTES)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, days, "events.calendar-index");
+    }
+
+    public Mono<Boolean> overlaps(Long ownerId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        final OwnerDay key = new OwnerDay(ownerId, date);
+        return load(List.of(key))
+                .map(bitmaps -> intersects(bitmaps.get(key), startMinute(startTime), endMinute(endTime)));
+    }
+
+    /**
+     * Same result as the SQL {@code range_agg} union, computed as a word-wise OR of the owners' bitmaps per date.
+     */
+    public Flux<BusyIntervalDto> findMergedBusyIntervals(List<Long> ownerIds, LocalDate startDate, LocalDate endDate) {
+        final List<OwnerDay> keys = new ArrayList<>();
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            for (Long ownerId : ownerIds) {
+                keys.add(new OwnerDay(ownerId, date));
+            }
+        }
+        return load(keys).flatMapIterable(bitmaps -> {
+            final List<BusyIntervalDto> result = new ArrayList<>();
+            final long[] union = new long[WORDS];
+            for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+                Arrays.fill(union, 0L);
+                for (Long ownerId : ownerIds) {
+                    final long[] bitmap = bitmaps.get(new OwnerDay(ownerId, date));
+                    for (int i = 0; i < WORDS; i++) {
+                        union[i] |= bitmap[i];
+                    }
+                }
+                for (int start = nextSetBit(union, 0); start >= 0; ) {
+                    final int end = nextClearBit(union, start);
+                    result.add(new BusyIntervalDto(date, toTime(start), toTime(end)));
+                    start = nextSetBit(union, end);
+                }
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Adds a stored event to its owner-day, if that owner-day is indexed. A load still in flight is dropped
+     * instead, it may have read the table before the event was committed.
+     */
+    public void markBusy(Event event) {
+        final int from = startMinute(event.getStartTime());
+        final int to = endMinute(event.getEndTime());
+        days.asMap().computeIfPresent(new OwnerDay(event.getOwnerId(), event.getDate()), (key, future) -> {
+            if (!future.isDone() || future.isCompletedExceptionally()) {
+                return null;
+            }
+            final long[] updated = future.join().clone();
+            setRange(updated, from, to);
+            return CompletableFuture.completedFuture(updated);
+        });
+    }
+
+    public void invalidate(Long ownerId, LocalDate date) {
+        days.synchronous().invalidate(new OwnerDay(ownerId, date));
+    }
+
+    public void invalidateAll() {
+        days.synchronous().invalidateAll();
+    }
+
+    private Mono<Map<OwnerDay, long[]>> load(Collection<OwnerDay> keys) {
+        return Mono.fromFuture(() -> days.getAll(keys, (missing, executor) -> loadFromDatabase(missing).toFuture()), true);
+    }
+
+    private Mono<Map<OwnerDay, long[]>> loadFromDatabase(Set<? extends OwnerDay> missing) {
+        final Map<OwnerDay, long[]> bitmaps = new HashMap<>();
+        final Set<Long> ownerIds = new HashSet<>();
+        LocalDate from = LocalDate.MAX;
+        LocalDate to = LocalDate.MIN;
+        for (OwnerDay key : missing) {
+            bitmaps.put(key, new long[WORDS]);
+            ownerIds.add(key.ownerId());
+            from = key.date().isBefore(from) ? key.date() : from;
+            to = key.date().isAfter(to) ? key.date() : to;
+        }
+        return eventRepository.findBusyEventsForUsersBetweenDates(List.copyOf(ownerIds), from, to)
+                .doOnNext(event -> {
+                    final long[] bitmap = bitmaps.get(new OwnerDay(event.getOwnerId(), event.getDate()));
+                    if (bitmap != null) {
+                        setRange(bitmap, startMinute(event.getStartTime()), endMinute(event.getEndTime()));
+                    }
+                })
+                .then(Mono.just(bitmaps));
+    }
+
+    static int startMinute(LocalTime time) {
+        return time.toSecondOfDay() / 60;
+    }
+
+    static int endMinute(LocalTime time) {
+        return (int) ((time.toNanoOfDay() + NANOS_PER_MINUTE - 1) / NANOS_PER_MINUTE);
+    }
+
+    private static LocalTime toTime(int minute) {
+        return minute >= MINUTES_PER_DAY ? LocalTime.MAX : LocalTime.of(minute / 60, minute % 60);
+    }
+
+    /**
+     * Sets bits {@code [from, to)}.
+     */
+    static void setRange(long[] bits, int from, int to) {
+        if (from >= to) {
+            return;
+        }
+        final int first = from >>> 6;
+        final int last = (to - 1) >>> 6;
+        final long firstMask = -1L << from;
+        final long lastMask = -1L >>> -to;
+        if (first == last) {
+            bits[first] |= firstMask & lastMask;
+            return;
+        }
+        bits[first] |= firstMask;
+        for (int i = first + 1; i < last; i++) {
+            bits[i] = -1L;
+        }
+        bits[last] |= lastMask;
+    }
+
+    /**
+     * Whether any bit in {@code [from, to)} is set.
+     */
+    static boolean intersects(long[] bits, int from, int to) {
+        if (from >= to) {
+            return false;
+        }
+        final int first = from >>> 6;
+        final int last = (to - 1) >>> 6;
+        final long firstMask = -1L << from;
+        final long lastMask = -1L >>> -to;
+        if (first == last) {
+            return (bits[first] & firstMask & lastMask) != 0;
+        }
+        if ((bits[first] & firstMask) != 0 || (bits[last] & lastMask) != 0) {
+            return true;
+        }
+        for (int i = first + 1; i < last; i++) {
+            if (bits[i] != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static int nextSetBit(long[] bits, int from) {
+        int index = from >>> 6;
+        if (index >= WORDS) {
+            return -1;
+        }
+        long word = bits[index] & (-1L << from);
+        while (word == 0) {
+            if (++index == WORDS) {
+                return -1;
+            }
+            word = bits[index];
+        }
+        return Math.min(index * Long.SIZE + Long.numberOfTrailingZeros(word), MINUTES_PER_DAY);
+    }
+
+    static int nextClearBit(long[] bits, int from) {
+        int index = from >>> 6;
+        if (index >= WORDS) {
+            return MINUTES_PER_DAY;
+        }
+        long word = ~bits[index] & (-1L << from);
+        while (word == 0) {
+            if (++index == WORDS) {
+                return MINUTES_PER_DAY;
+            }
+            word = ~bits[index];
+        }
+        return Math.min(index * Long.SIZE + Long.numberOfTrailingZeros(word), MINUTES_PER_DAY);
+    }
+
+    private record OwnerDay(Long ownerId, LocalDate date) {}
+}
@@ -0,0 +1,101 @@
+package com.hs.lab3.eventservice.service;
+
+import com.hs.lab3.eventservice.dto.responses.EventChangeDto;
+import com.hs.lab3.eventservice.exceptions.ChangeFeedExpiredException;
+import com.hs.lab3.eventservice.repository.EventChangeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Change feed of events: the journaled changes after {@code since}, followed by live changes as they are
+ * committed. Live changes are subscribed to before the journal is read and skipped up to the last replayed
+ * sequence, so the handover neither loses nor repeats a change. This relies on sequences committing in order,
+ * which the journal trigger guarantees by serializing writers from sequence assignment to commit
+ * ({@code V5__event_changes_commit_order.sql}): every change missing from the replay has a higher sequence
+ * than all replayed ones.
+ * <p>
+ * A live stream ends normally when its subscriber falls more than {@code live-buffer} changes behind or the
+ * listener loses its connection. Consumers reconnect with the last {@code seq} they have seen.
+ */
+@Slf4j
+@Service
+public class EventChangeFeed {
+    private final EventChangeRepository eventChangeRepository;
+    private final EventChangeListener eventChangeListener;
+    private final Duration retention;
+    private final int liveBuffer;
+
+    public EventChangeFeed(EventChangeRepository eventChangeRepository,
+                           EventChangeListener eventChangeListener,
+                           @Value("${events.changes.retention:P7D}") Duration retention,
+                           @Value("${events.changes.live-buffer:1024}") int liveBuffer) {
+        this.eventChangeRepository = eventChangeRepository;
+        this.eventChangeListener = eventChangeListener;
+        this.retention = retention;
+        this.liveBuffer = liveBuffer;
+    }
+
+    /**
+     * @param since last sequence the caller has seen, {@code null} for live changes only
+     * @throws ChangeFeedExpiredException if changes after {@code since} are no longer retained
+     */
+    public Flux<EventChangeDto> changesSince(Long since) {
+        return Flux.defer(() -> {
+            final Sinks.Many<EventChangeDto> live = Sinks.many().unicast()
+                    .onBackpressureBuffer(Queues.<EventChangeDto>get(liveBuffer).get());
+            final Disposable liveSubscription = eventChangeListener.changes().subscribe(
+                    change -> {
+                        if (live.tryEmitNext(change).isFailure()) {
+                            live.tryEmitComplete();
+                        }
+                    },
+                    live::tryEmitError,
+                    live::tryEmitComplete);
+
+            if (since == null) {
+                return live.asFlux().doFinally(signal -> liveSubscription.dispose());
+            }
+            final AtomicLong lastReplayed = new AtomicLong(since);
+            return requireRetained(since)
+                    .thenMany(eventChangeRepository.findAfter(since))
+                    .doOnNext(change -> lastReplayed.set(change.seq()))
+                    .concatWith(live.asFlux().filter(change -> change.seq() > lastReplayed.get()))
+                    .doFinally(signal -> liveSubscription.dispose());
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${events.changes.cleanup-interval:PT1H}")
+    public void removeExpired() {
+        eventChangeRepository.deleteChangedBefore(Instant.now().minus(retention))
+                .subscribe(
+                        removed -> {
+                            if (removed > 0) {
+                                log.info("Removed {} expired event changes", removed);
+                            }
+                        },
+                        e -> log.warn("Failed to remove expired event changes", e));
+    }
+
+    /**
+     * Sequences have gaps (rolled back inserts), so a caller right behind the oldest retained change may be
+     * rejected although it missed nothing. Reloading is then merely unnecessary, never wrong.
+     */
+    private Mono<Void> requireRetained(long since) {
+        return eventChangeRepository.findOldestSeq()
+                .filter(oldest -> since < oldest - 1)
+                .flatMap(oldest -> Mono.<Void>error(new ChangeFeedExpiredException(
+                        "Changes after " + since + " are no longer retained, reload the calendar and resume from the latest seq")))
+                .then();
+    }
+}
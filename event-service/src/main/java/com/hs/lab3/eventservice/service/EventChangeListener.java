@@ -0,0 +1,142 @@
+package com.hs.lab3.eventservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hs.lab3.eventservice.dto.responses.EventChangeDto;
+import com.hs.lab3.eventservice.entity.Event;
+import io.r2dbc.postgresql.PostgresqlConnectionFactory;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Wrapped;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Holds one dedicated, unpooled connection that {@code LISTEN}s on the {@code event_changes} channel and
+ * republishes the notifications. Every connection gets a fresh {@link #changes()} stream which completes
+ * when the connection is lost, so subscribers know that they may have missed changes and have to resume
+ * from the journal. While disconnected, {@link #changes()} completes immediately.
+ * <p>
+ * Also keeps the {@link CalendarIndex}, if enabled, in step with changes made by other instances.
+ */
+@Slf4j
+@Component
+public class EventChangeListener implements DisposableBean {
+    private static final String CHANNEL = "event_changes";
+
+    private final PostgresqlConnectionFactory connectionFactory;
+    private final ObjectMapper objectMapper;
+    private final Optional<CalendarIndex> calendarIndex;
+
+    private volatile Sinks.Many<EventChangeDto> sink = completedSink();
+    private Disposable subscription;
+
+    public EventChangeListener(ConnectionFactory connectionFactory,
+                               ObjectMapper objectMapper,
+                               Optional<CalendarIndex> calendarIndex) {
+        this.connectionFactory = unwrap(connectionFactory);
+        this.objectMapper = objectMapper;
+        this.calendarIndex = calendarIndex;
+    }
+
+    /**
+     * Changes committed while the current connection is listening. Hot: nothing is replayed to late subscribers.
+     */
+    public Flux<EventChangeDto> changes() {
+        return sink.asFlux();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (subscription == null) {
+            subscription = listen()
+                    .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                            .maxBackoff(Duration.ofSeconds(30))
+                            .doBeforeRetry(signal -> log.warn("Event change listener disconnected, reconnecting",
+                                    signal.failure())))
+                    .subscribe();
+        }
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+        sink.tryEmitComplete();
+    }
+
+    private Mono<Void> listen() {
+        return Mono.usingWhen(
+                connectionFactory.create(),
+                connection -> connection.createStatement("LISTEN " + CHANNEL).execute()
+                        .flatMap(result -> result.getRowsUpdated())
+                        .then(Mono.fromRunnable(this::connected))
+                        .thenMany(connection.getNotifications())
+                        .doOnNext(notification -> publish(notification.getParameter()))
+                        .then(Mono.error(new IllegalStateException("Notification stream ended"))),
+                PostgresqlConnection::close)
+                .doFinally(signal -> sink.tryEmitComplete())
+                .then();
+    }
+
+    /**
+     * Notifications sent while no connection was listening are lost, so indexed owner-days may be stale.
+     */
+    private void connected() {
+        sink = Sinks.many().multicast().directBestEffort();
+        calendarIndex.ifPresent(CalendarIndex::invalidateAll);
+        log.info("Listening for event changes on channel {}", CHANNEL);
+    }
+
+    private void publish(String payload) {
+        final EventChangeDto change;
+        try {
+            change = objectMapper.readValue(payload, EventChangeDto.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Skipping malformed event change notification: {}", payload, e);
+            return;
+        }
+        calendarIndex.ifPresent(index -> {
+            if (change.type() == EventChangeDto.Type.CREATED) {
+                index.markBusy(new Event(change.eventId(), null, null,
+                        change.date(), change.startTime(), change.endTime(), change.ownerId()));
+            } else {
+                index.invalidate(change.ownerId(), change.date());
+            }
+        });
+        sink.tryEmitNext(change);
+    }
+
+    private static Sinks.Many<EventChangeDto> completedSink() {
+        final Sinks.Many<EventChangeDto> completed = Sinks.many().multicast().directBestEffort();
+        completed.tryEmitComplete();
+        return completed;
+    }
+
+    /**
+     * The application's connection factory is a pool, possibly decorated. LISTEN needs a connection of its own
+     * for the lifetime of the service, so it is opened on the PostgreSQL factory underneath instead.
+     */
+    private static PostgresqlConnectionFactory unwrap(ConnectionFactory connectionFactory) {
+        Object current = connectionFactory;
+        while (!(current instanceof PostgresqlConnectionFactory) && current instanceof Wrapped<?> wrapped) {
+            current = wrapped.unwrap();
+        }
+        if (current instanceof PostgresqlConnectionFactory postgresqlConnectionFactory) {
+            return postgresqlConnectionFactory;
+        }
+        throw new IllegalStateException("Event change feed requires PostgreSQL, got " + connectionFactory.getClass().getName());
+    }
+}
@@ -0,0 +1,40 @@
+package com.hs.lab3.eventservice.service;
+
+import com.hs.lab3.eventservice.entity.Event;
+import com.hs.lab3.eventservice.exceptions.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in the owner listing, which is ordered by (date, start_time, id) descending.
+ * Clients only see it as an opaque url-safe string.
+ */
+public record EventCursor(LocalDate date, LocalTime startTime, long id) {
+    private static final String SEPARATOR = "|";
+
+    public static EventCursor after(Event event) {
+        return new EventCursor(event.getDate(), event.getStartTime(), event.getId());
+    }
+
+    public String encode() {
+        final String raw = date + SEPARATOR + startTime + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static EventCursor decode(String cursor) {
+        try {
+            final String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            final String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3) {
+                throw new InvalidCursorException("Invalid cursor");
+            }
+            return new EventCursor(LocalDate.parse(parts[0]), LocalTime.parse(parts[1]), Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+    }
+}
@@ -1,14 +1,21 @@
-package java.com.hs.lab3.eventservice.service;
-
-import java.com.hs.lab3.eventservice.client.UserClient;
-import java.com.hs.lab3.eventservice.dto.responses.UserDto;
-import java.com.hs.lab3.eventservice.entity.Event;
-import java.com.hs.lab3.eventservice.exceptions.EventConflictException;
-import java.com.hs.lab3.eventservice.exceptions.EventNotFoundException;
-import java.com.hs.lab3.eventservice.exceptions.UserNotFoundException;
-import java.com.hs.lab3.eventservice.repository.EventRepository;
-import feign.FeignException;
-import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+package com.hs.lab3.eventservice.service;
+
+import com.hs.lab3.eventservice.dto.requests.CreateEventRequest;
+import com.hs.lab3.eventservice.dto.responses.BulkEventResultDto.Status;
+import com.hs.lab3.eventservice.dto.responses.BusyIntervalDto;
+import com.hs.lab3.eventservice.dto.responses.UserBusyDto;
+import com.hs.lab3.eventservice.entity.Event;
+import com.hs.lab3.eventservice.exceptions.BulkLimitExceededException;
+import com.hs.lab3.eventservice.exceptions.EventConflictException;
+import com.hs.lab3.eventservice.exceptions.EventNotFoundException;
+import com.hs.lab3.eventservice.exceptions.UserNotFoundException;
+import com.hs.lab3.eventservice.repository.BusyTimeRepository;
+import com.hs.lab3.eventservice.repository.EventBatchRepository;
+import com.hs.lab3.eventservice.repository.EventRepository;
+import com.hs.lab3.eventservice.repository.EventStreamRepository;
+import io.r2dbc.spi.R2dbcException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -19,18 +26,32 @@ import reactor.core.publisher.Mono;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
-import java.util.List;
+import java.util.*;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class EventService {
+    private static final String EXCLUSION_VIOLATION = "23P01";
+    private static final int OWNER_LOOKUP_CONCURRENCY = 8;
+    public static final int MAX_BULK_SIZE = 1000;
+
     private final EventRepository eventRepository;
-    private final UserClient userClient;
+    private final UserExistenceCache userExistenceCache;
+    private final EventStreamRepository eventStreamRepository;
+    private final EventBatchRepository eventBatchRepository;
+    private final BusyTimeRepository busyTimeRepository;
+    private final Optional<CalendarIndex> calendarIndex;
+    private final Validator validator;
 
     public Flux<Event> getAllEvents() {
         return eventRepository.findAll();
     }
 
+    public Flux<Event> streamEvents(Long ownerId, LocalDate fromDate, LocalDate toDate) {
+        return eventStreamRepository.streamEvents(ownerId, fromDate, toDate);
+    }
+
     public Mono<Event> addEvent(String name,
                                 String description,
                                 LocalDate date,
@@ -41,33 +62,186 @@ public class EventService {
             return Mono.error(new EventConflictException("Invalid event time"));
         }
 
-        return getUserByIdWithCircuitBreaker(ownerId)
-                .flatMap(user ->
-                        eventRepository.existsByOwnerAndDateAndTimeOverlap(ownerId, date, startTime, endTime)
-                                .flatMap(conflict -> {
-                                    if (conflict)
-                                        return Mono.error(new EventConflictException("User already has an event at this time"));
-                                    Event event = new Event();
-                                    event.setName(name);
-                                    event.setDescription(description);
-                                    event.setDate(date);
-                                    event.setStartTime(startTime);
-                                    event.setEndTime(endTime);
-                                    event.setOwnerId(ownerId);
-                                    return eventRepository.save(event);
-                                })
-                );
+        return requireExistingUser(ownerId)
+                .then(indexedOverlap(ownerId, date, startTime, endTime))
+                .flatMap(overlap -> overlap
+                        ? Mono.error(new EventConflictException("User already has an event at this time"))
+                        : Mono.empty())
+                .then(Mono.defer(() -> {
+                    Event event = new Event();
+                    event.setName(name);
+                    event.setDescription(description);
+                    event.setDate(date);
+                    event.setStartTime(startTime);
+                    event.setEndTime(endTime);
+                    event.setOwnerId(ownerId);
+                    return eventRepository.save(event);
+                }))
+                .doOnNext(this::indexEvent)
+                .onErrorMap(EventService::isOverlapViolation,
+                        e -> new EventConflictException("User already has an event at this time"));
     }
 
-    @CircuitBreaker(name = "userService", fallbackMethod = "userFallback")
-    private Mono<UserDto> getUserByIdWithCircuitBreaker(Long ownerId) {
-        return userClient.getUserById(ownerId)
-                .onErrorResume(FeignException.NotFound.class, e ->
-                        Mono.error(new UserNotFoundException("User with id = " + ownerId + " not found"))
-                )
-                .onErrorResume(FeignException.class, e ->
-                        Mono.error(new RuntimeException("User-service error: " + e.status() + " " + e.getMessage()))
-                );
+    /**
+     * Creates many events at once. Every distinct owner is looked up once, overlaps inside the request are found
+     * in memory and overlaps with stored events by the exclusion constraint while inserting in multi-row statements.
+     * Returns one result per request item, in request order.
+     *
+     * @throws BulkLimitExceededException if the request has more than {@value #MAX_BULK_SIZE} items
+     */
+    public Mono<List<BulkItemResult>> addEvents(List<CreateEventRequest> requests) {
+        if (requests.size() > MAX_BULK_SIZE) {
+            return Mono.error(new BulkLimitExceededException(
+                    "At most " + MAX_BULK_SIZE + " events can be created at once, got " + requests.size()));
+        }
+        final BulkItemResult[] results = new BulkItemResult[requests.size()];
+        final List<Integer> valid = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            final String problem = validate(requests.get(i));
+            if (problem != null) {
+                results[i] = new BulkItemResult(i, Status.INVALID, null, problem);
+            } else {
+                valid.add(i);
+            }
+        }
+
+        final Set<Long> owners = valid.stream()
+                .map(i -> requests.get(i).ownerId())
+                .collect(Collectors.toSet());
+
+        return Flux.fromIterable(owners)
+                .flatMap(ownerId -> userExistenceCache.exists(ownerId)
+                        .filter(Boolean::booleanValue)
+                        .map(exists -> ownerId), OWNER_LOOKUP_CONCURRENCY)
+                .collect(Collectors.toSet())
+                .flatMap(existingOwners -> {
+                    final List<Integer> owned = new ArrayList<>();
+                    for (int i : valid) {
+                        final Long ownerId = requests.get(i).ownerId();
+                        if (existingOwners.contains(ownerId)) {
+                            owned.add(i);
+                        } else {
+                            results[i] = new BulkItemResult(i, Status.OWNER_NOT_FOUND, null,
+                                    "User with id = " + ownerId + " not found");
+                        }
+                    }
+                    final List<Integer> accepted = rejectOverlapsWithinRequest(requests, owned, results);
+                    final List<Event> events = accepted.stream().map(i -> toEvent(requests.get(i))).toList();
+
+                    return eventBatchRepository.insertIgnoringOverlaps(events)
+                            .doOnNext(this::indexEvent)
+                            .collectMap(event -> new Slot(event.getOwnerId(), event.getDate(), event.getStartTime()))
+                            .map(inserted -> {
+                                for (int i : accepted) {
+                                    final CreateEventRequest request = requests.get(i);
+                                    final Event event = inserted.get(new Slot(request.ownerId(), request.date(), request.startTime()));
+                                    results[i] = event != null
+                                            ? new BulkItemResult(i, Status.CREATED, event, null)
+                                            : new BulkItemResult(i, Status.CONFLICT, null, "User already has an event at this time");
+                                }
+                                return Arrays.asList(results);
+                            });
+                });
+    }
+
+    /**
+     * Sweeps the items per owner and date in start order and rejects every item that starts before
+     * an already accepted one ends.
+     *
+     * @return indexes of the accepted items
+     */
+    private static List<Integer> rejectOverlapsWithinRequest(List<CreateEventRequest> requests,
+                                                             List<Integer> indexes,
+                                                             BulkItemResult[] results) {
+        final List<Integer> sorted = new ArrayList<>(indexes);
+        sorted.sort(Comparator.<Integer, Long>comparing(i -> requests.get(i).ownerId())
+                .thenComparing(i -> requests.get(i).date())
+                .thenComparing(i -> requests.get(i).startTime())
+                .thenComparing(Comparator.naturalOrder()));
+
+        final List<Integer> accepted = new ArrayList<>(sorted.size());
+        CreateEventRequest previous = null;
+        LocalTime busyUntil = null;
+        for (int i : sorted) {
+            final CreateEventRequest request = requests.get(i);
+            final boolean sameDay = previous != null
+                    && previous.ownerId().equals(request.ownerId())
+                    && previous.date().equals(request.date());
+            if (sameDay && request.startTime().isBefore(busyUntil)) {
+                results[i] = new BulkItemResult(i, Status.CONFLICT, null, "Overlaps another event in the request");
+                continue;
+            }
+            busyUntil = sameDay && busyUntil.isAfter(request.endTime()) ? busyUntil : request.endTime();
+            previous = request;
+            accepted.add(i);
+        }
+        return accepted;
+    }
+
+    /**
+     * The same constraints as a single create: the request's bean-validation annotations and the time rule.
+     *
+     * @return the problem, or {@code null} for a valid item
+     */
+    private String validate(CreateEventRequest request) {
+        if (request == null) {
+            return "Empty item";
+        }
+        final Set<ConstraintViolation<CreateEventRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+        if (!request.endTime().isAfter(request.startTime()) || request.date().isBefore(LocalDate.now())) {
+            return "Invalid event time";
+        }
+        return null;
+    }
+
+    private static Event toEvent(CreateEventRequest request) {
+        Event event = new Event();
+        event.setName(request.name());
+        event.setDescription(request.description());
+        event.setDate(request.date());
+        event.setStartTime(request.startTime());
+        event.setEndTime(request.endTime());
+        event.setOwnerId(request.ownerId());
+        return event;
+    }
+
+    /**
+     * Overlaps are rejected by the {@code events_owner_no_overlap} exclusion constraint.
+     */
+    private static boolean isOverlapViolation(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof R2dbcException r2dbcException
+                    && EXCLUSION_VIOLATION.equals(r2dbcException.getSqlState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Fast rejection from the calendar index when it is enabled; the insert is checked by the database either way.
+     */
+    private Mono<Boolean> indexedOverlap(Long ownerId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        return calendarIndex
+                .map(index -> index.overlaps(ownerId, date, startTime, endTime))
+                .orElseGet(() -> Mono.just(false));
+    }
+
+    private void indexEvent(Event event) {
+        calendarIndex.ifPresent(index -> index.markBusy(event));
+    }
+
+    private Mono<Void> requireExistingUser(Long ownerId) {
+        return userExistenceCache.exists(ownerId)
+                .flatMap(exists -> exists
+                        ? Mono.<Void>empty()
+                        : Mono.error(new UserNotFoundException("User with id = " + ownerId + " not found")));
     }
 
     public Mono<Event> getEventById(Long id) {
@@ -78,7 +252,9 @@ public class EventService {
     public Mono<Void> deleteEventById(Long id) {
         return eventRepository.findById(id)
                 .switchIfEmpty(Mono.error(new EventNotFoundException("Event with id = " + id + " not found")))
-                .flatMap(event -> eventRepository.deleteById(event.getId()));
+                .flatMap(event -> eventRepository.deleteById(event.getId())
+                        .doOnSuccess(deleted -> calendarIndex.ifPresent(index ->
+                                index.invalidate(event.getOwnerId(), event.getDate()))));
     }
     public Flux<Event> getBusyEventsForUsersBetweenDates(List<Long> userIds,
                                                          LocalDate startDate,
@@ -86,14 +262,18 @@ public class EventService {
         return eventRepository.findBusyEventsForUsersBetweenDates(userIds, startDate, endDate);
     }
 
-    public Mono<Event> userFallback(String name,
-                                     String description,
-                                     LocalDate date,
-                                     LocalTime startTime,
-                                     LocalTime endTime,
-                                     Long ownerId,
-                                     Throwable t) {
-        return Mono.error(new RuntimeException("User-service unavailable, try later"));
+    public Flux<UserBusyDto> getBusyMinutesForUsersBetweenDates(List<Long> userIds,
+                                                                LocalDate startDate,
+                                                                LocalDate endDate) {
+        return busyTimeRepository.findBusyMinutes(userIds, startDate, endDate);
+    }
+
+    public Flux<BusyIntervalDto> getMergedBusyIntervalsForUsersBetweenDates(List<Long> userIds,
+                                                                            LocalDate startDate,
+                                                                            LocalDate endDate) {
+        return calendarIndex
+                .map(index -> index.findMergedBusyIntervals(userIds, startDate, endDate))
+                .orElseGet(() -> busyTimeRepository.findMergedBusyIntervals(userIds, startDate, endDate));
     }
 
     public Flux<Event> getUserEventsById(Long ownerId, Pageable pageable) {
@@ -110,4 +290,28 @@ public class EventService {
                         .map(events -> new PageImpl<>(events, pageable, total))
                 );
     }
+
+    /**
+     * Keyset page of the owner's events, newest first. Costs one index range scan however deep the page is,
+     * and no count. A {@code null} or empty cursor starts from the newest event.
+     */
+    public Mono<EventCursorPage> getUserEventsAfter(Long ownerId, String cursor, int size) {
+        final Flux<Event> events;
+        if (cursor == null || cursor.isEmpty()) {
+            events = eventRepository.findFirstByOwnerId(ownerId, size + 1L);
+        } else {
+            final EventCursor after = EventCursor.decode(cursor);
+            events = eventRepository.findByOwnerIdAfter(ownerId, after.date(), after.startTime(), after.id(), size + 1L);
+        }
+        return events.collectList()
+                .map(page -> page.size() > size
+                        ? new EventCursorPage(page.subList(0, size), EventCursor.after(page.get(size - 1)).encode())
+                        : new EventCursorPage(page, null));
+    }
+
+    public record EventCursorPage(List<Event> events, String nextCursor) {}
+
+    public record BulkItemResult(int index, Status status, Event event, String message) {}
+
+    private record Slot(Long ownerId, LocalDate date, LocalTime startTime) {}
 }
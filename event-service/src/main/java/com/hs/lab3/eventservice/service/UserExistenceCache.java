@@ -0,0 +1,47 @@
+package com.hs.lab3.eventservice.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.hs.lab3.eventservice.exceptions.UserNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Whether a user exists, as answered by user-service. Known users are remembered for {@code positive-ttl},
+ * unknown ids only for the short {@code negative-ttl} so that freshly created users show up quickly.
+ * Concurrent lookups of the same id share one call; failed calls are not cached.
+ */
+@Component
+public class UserExistenceCache {
+    private final UserLookupService userLookupService;
+    private final AsyncCache<Long, Boolean> cache;
+
+    public UserExistenceCache(
+            UserLookupService userLookupService,
+            MeterRegistry meterRegistry,
+            @Value("${events.user-cache.max-size:10000}") long maxSize,
+            @Value("${events.user-cache.positive-ttl:PT10M}") Duration positiveTtl,
+            @Value("${events.user-cache.negative-ttl:PT30S}") Duration negativeTtl) {
+        this.userLookupService = userLookupService;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(Expiry.creating((Long userId, Boolean exists) -> exists ? positiveTtl : negativeTtl))
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "events.users");
+    }
+
+    public Mono<Boolean> exists(Long userId) {
+        // suppressCancel: one subscriber going away must not cancel the load other subscribers wait for
+        return Mono.fromFuture(() -> cache.get(userId, (id, executor) -> userLookupService.getUserById(id)
+                .map(user -> true)
+                .onErrorResume(UserNotFoundException.class, e -> Mono.just(false))
+                .toFuture()), true);
+    }
+}
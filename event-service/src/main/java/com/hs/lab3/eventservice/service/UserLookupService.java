@@ -0,0 +1,41 @@
+package com.hs.lab3.eventservice.service;
+
+import com.hs.lab3.eventservice.client.UserClient;
+import com.hs.lab3.eventservice.dto.responses.UserDto;
+import com.hs.lab3.eventservice.exceptions.UserNotFoundException;
+import com.hs.lab3.eventservice.exceptions.UserServiceUnavailableException;
+import feign.FeignException;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Calls to user-service. Kept in its own bean so that the circuit breaker aspect actually wraps them.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserLookupService {
+    private final UserClient userClient;
+
+    @CircuitBreaker(name = "userService", fallbackMethod = "userFallback")
+    public Mono<UserDto> getUserById(Long userId) {
+        return userClient.getUserById(userId)
+                .onErrorResume(FeignException.NotFound.class, e ->
+                        Mono.error(new UserNotFoundException("User with id = " + userId + " not found"))
+                )
+                .onErrorResume(FeignException.class, e ->
+                        Mono.error(new RuntimeException("User-service error: " + e.status() + " " + e.getMessage()))
+                );
+    }
+
+    public Mono<UserDto> userFallback(Long userId, Throwable t) {
+        if (t instanceof UserNotFoundException) {
+            return Mono.error(t);
+        }
+        log.warn("User-service call for user {} failed: {}", userId, t.getMessage());
+        return Mono.error(new UserServiceUnavailableException("User-service unavailable, try later"));
+    }
+}
@@ -0,0 +1,11 @@
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE events
+    ADD COLUMN IF NOT EXISTS during TSRANGE
+        GENERATED ALWAYS AS (tsrange(date + start_time, date + end_time, '[)')) STORED;
+
+-- One indexed check per insert, also correct for concurrent inserts of the same owner.
+-- Fails if the table already holds overlapping events of one owner, those have to be resolved by hand first.
+ALTER TABLE events
+    ADD CONSTRAINT events_owner_no_overlap
+        EXCLUDE USING gist (owner_id WITH =, during WITH &&);
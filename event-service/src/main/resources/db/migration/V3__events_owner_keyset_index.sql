@@ -0,0 +1,3 @@
+-- Serves the owner listing in its sort order, both for keyset pages and for the first page.
+CREATE INDEX IF NOT EXISTS idx_events_owner_date_start_id
+    ON events (owner_id, date DESC, start_time DESC, id DESC);
@@ -0,0 +1,44 @@
+CREATE TABLE IF NOT EXISTS event_changes (
+                        seq BIGSERIAL PRIMARY KEY,
+                        type VARCHAR(7) NOT NULL,
+                        event_id BIGINT NOT NULL,
+                        owner_id BIGINT,
+                        date DATE NOT NULL,
+                        start_time TIME NOT NULL,
+                        end_time TIME NOT NULL,
+                        changed_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS event_changes_changed_at_idx ON event_changes (changed_at);
+
+-- Every insert and delete of an event is journaled in the same transaction and announced on the
+-- event_changes channel. The notification carries the journal row, it is delivered only on commit.
+CREATE OR REPLACE FUNCTION record_event_change() RETURNS trigger AS $$
+DECLARE
+    change event_changes;
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO event_changes (type, event_id, owner_id, date, start_time, end_time)
+        VALUES ('CREATED', NEW.id, NEW.owner_id, NEW.date, NEW.start_time, NEW.end_time)
+        RETURNING * INTO change;
+    ELSE
+        INSERT INTO event_changes (type, event_id, owner_id, date, start_time, end_time)
+        VALUES ('DELETED', OLD.id, OLD.owner_id, OLD.date, OLD.start_time, OLD.end_time)
+        RETURNING * INTO change;
+    END IF;
+    PERFORM pg_notify('event_changes', json_build_object(
+            'seq', change.seq,
+            'type', change.type,
+            'eventId', change.event_id,
+            'ownerId', change.owner_id,
+            'date', change.date,
+            'startTime', change.start_time,
+            'endTime', change.end_time,
+            'changedAt', change.changed_at)::text);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER events_record_change
+    AFTER INSERT OR DELETE ON events
+    FOR EACH ROW EXECUTE FUNCTION record_event_change();
@@ -0,0 +1,31 @@
+-- Journal sequences must become visible in sequence order: a feed consumer resumes after the last seq it has
+-- seen, so a lower seq committed after a higher one would be skipped for good. Transactions that change events
+-- therefore take one transaction-scoped advisory lock before their first journal insert and keep it until they
+-- commit or roll back. Sequence assignment and commit are serialized between writers; the lock is taken by the
+-- AFTER trigger, at the end of the writing statement, so it is held only from there to the commit.
+CREATE OR REPLACE FUNCTION record_event_change() RETURNS trigger AS $$
+DECLARE
+    change event_changes;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('event_changes'));
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO event_changes (type, event_id, owner_id, date, start_time, end_time)
+        VALUES ('CREATED', NEW.id, NEW.owner_id, NEW.date, NEW.start_time, NEW.end_time)
+        RETURNING * INTO change;
+    ELSE
+        INSERT INTO event_changes (type, event_id, owner_id, date, start_time, end_time)
+        VALUES ('DELETED', OLD.id, OLD.owner_id, OLD.date, OLD.start_time, OLD.end_time)
+        RETURNING * INTO change;
+    END IF;
+    PERFORM pg_notify('event_changes', json_build_object(
+            'seq', change.seq,
+            'type', change.type,
+            'eventId', change.event_id,
+            'ownerId', change.owner_id,
+            'date', change.date,
+            'startTime', change.start_time,
+            'endTime', change.end_time,
+            'changedAt', change.changed_at)::text);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,131 @@
+package com.hs.lab3.eventservice.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The journal written by the {@code events_record_change} trigger, against the real migrations: a feed
+ * consumer resuming after the highest sequence it has seen must not be able to miss a lower one that commits later.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class EventChangeJournalTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @BeforeAll
+    static void migrate() {
+        Flyway.configure()
+                .dataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword())
+                .load()
+                .migrate();
+    }
+
+    @Test
+    void laterWriterCannotCommitBeforeEarlierOne() throws Exception {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (Connection first = connect(false); Connection second = connect(false); Connection reader = connect(true)) {
+            final long before = maxSeq(reader);
+            insertEvent(first, 1L);
+
+            final Future<?> secondWriter = executor.submit(() -> {
+                insertEvent(second, 2L);
+                second.commit();
+                return null;
+            });
+
+            assertThatThrownBy(() -> secondWriter.get(500, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+            assertThat(ownersAfter(reader, before)).isEmpty();
+
+            first.commit();
+            secondWriter.get(10, TimeUnit.SECONDS);
+
+            assertThat(ownersAfter(reader, before)).containsExactly(1L, 2L);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void rolledBackWriterLetsTheNextOneThrough() throws Exception {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (Connection first = connect(false); Connection second = connect(false); Connection reader = connect(true)) {
+            final long before = maxSeq(reader);
+            insertEvent(first, 3L);
+
+            final Future<?> secondWriter = executor.submit(() -> {
+                insertEvent(second, 4L);
+                second.commit();
+                return null;
+            });
+            assertThatThrownBy(() -> secondWriter.get(500, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+
+            first.rollback();
+            secondWriter.get(10, TimeUnit.SECONDS);
+
+            assertThat(ownersAfter(reader, before)).containsExactly(4L);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Connection connect(boolean autoCommit) throws SQLException {
+        final Connection connection = DriverManager.getConnection(
+                POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        connection.setAutoCommit(autoCommit);
+        return connection;
+    }
+
+    private static void insertEvent(Connection connection, long ownerId) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("""
+                INSERT INTO events (name, date, start_time, end_time, owner_id)
+                VALUES ('Meeting', DATE '2030-01-01', TIME '09:00', TIME '10:00', ?)
+                """)) {
+            statement.setLong(1, ownerId);
+            statement.executeUpdate();
+        }
+    }
+
+    private static long maxSeq(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT coalesce(max(seq), 0) FROM event_changes")) {
+            rows.next();
+            return rows.getLong(1);
+        }
+    }
+
+    private static List<Long> ownersAfter(Connection connection, long seq) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT owner_id FROM event_changes WHERE seq > ? ORDER BY seq")) {
+            statement.setLong(1, seq);
+            try (ResultSet rows = statement.executeQuery()) {
+                final List<Long> owners = new ArrayList<>();
+                while (rows.next()) {
+                    owners.add(rows.getLong(1));
+                }
+                return owners;
+            }
+        }
+    }
+}
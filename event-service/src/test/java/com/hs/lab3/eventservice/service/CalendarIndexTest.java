@@ -0,0 +1,144 @@
+package com.hs.lab3.eventservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.BitSet;
+import java.util.Random;
+
+import static com.hs.lab3.eventservice.service.CalendarIndex.MINUTES_PER_DAY;
+import static com.hs.lab3.eventservice.service.CalendarIndex.WORDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bitmap helpers checked against {@link BitSet}, with the word boundaries spelled out.
+ */
+class CalendarIndexTest {
+    private static final int[] BOUNDARIES = {0, 1, 62, 63, 64, 65, 127, 128, 1407, 1408, 1438, 1439, 1440};
+
+    @Test
+    void setRangeMatchesBitSetAtWordBoundaries() {
+        for (int from : BOUNDARIES) {
+            for (int to : BOUNDARIES) {
+                final long[] bits = new long[WORDS];
+                CalendarIndex.setRange(bits, from, to);
+
+                final BitSet expected = new BitSet();
+                if (from < to) {
+                    expected.set(from, to);
+                }
+                assertThat(BitSet.valueOf(bits)).as("[%d, %d)", from, to).isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    void setRangeKeepsExistingBits() {
+        final long[] bits = new long[WORDS];
+        CalendarIndex.setRange(bits, 0, 1);
+        CalendarIndex.setRange(bits, 63, 65);
+        CalendarIndex.setRange(bits, 1439, 1440);
+
+        final BitSet expected = new BitSet();
+        expected.set(0);
+        expected.set(63, 65);
+        expected.set(1439);
+        assertThat(BitSet.valueOf(bits)).isEqualTo(expected);
+    }
+
+    @Test
+    void intersectsAtWordBoundaries() {
+        for (int set : new int[]{0, 63, 64, 1439}) {
+            final long[] bits = new long[WORDS];
+            CalendarIndex.setRange(bits, set, set + 1);
+
+            for (int from : BOUNDARIES) {
+                for (int to : BOUNDARIES) {
+                    final boolean expected = from <= set && set < to;
+                    assertThat(CalendarIndex.intersects(bits, from, to))
+                            .as("bit %d in [%d, %d)", set, from, to)
+                            .isEqualTo(expected);
+                }
+            }
+        }
+    }
+
+    @Test
+    void touchingRangesDoNotIntersect() {
+        final long[] bits = new long[WORDS];
+        CalendarIndex.setRange(bits, 64, 128);
+
+        assertThat(CalendarIndex.intersects(bits, 0, 64)).isFalse();
+        assertThat(CalendarIndex.intersects(bits, 128, 1440)).isFalse();
+        assertThat(CalendarIndex.intersects(bits, 63, 65)).isTrue();
+        assertThat(CalendarIndex.intersects(bits, 127, 129)).isTrue();
+        assertThat(CalendarIndex.intersects(bits, 0, 1440)).isTrue();
+    }
+
+    @Test
+    void nextSetAndClearBitAtWordBoundaries() {
+        final long[] bits = new long[WORDS];
+        CalendarIndex.setRange(bits, 63, 64);
+        CalendarIndex.setRange(bits, 128, 1440);
+
+        assertThat(CalendarIndex.nextSetBit(bits, 0)).isEqualTo(63);
+        assertThat(CalendarIndex.nextSetBit(bits, 63)).isEqualTo(63);
+        assertThat(CalendarIndex.nextSetBit(bits, 64)).isEqualTo(128);
+        assertThat(CalendarIndex.nextSetBit(bits, 1439)).isEqualTo(1439);
+        assertThat(CalendarIndex.nextSetBit(bits, 1440)).isEqualTo(-1);
+        assertThat(CalendarIndex.nextSetBit(bits, WORDS * Long.SIZE)).isEqualTo(-1);
+
+        assertThat(CalendarIndex.nextClearBit(bits, 0)).isZero();
+        assertThat(CalendarIndex.nextClearBit(bits, 63)).isEqualTo(64);
+        assertThat(CalendarIndex.nextClearBit(bits, 64)).isEqualTo(64);
+        assertThat(CalendarIndex.nextClearBit(bits, 128)).isEqualTo(MINUTES_PER_DAY);
+        assertThat(CalendarIndex.nextClearBit(bits, 1439)).isEqualTo(MINUTES_PER_DAY);
+        assertThat(CalendarIndex.nextClearBit(bits, WORDS * Long.SIZE)).isEqualTo(MINUTES_PER_DAY);
+    }
+
+    @Test
+    void emptyAndFullDays() {
+        final long[] empty = new long[WORDS];
+        assertThat(CalendarIndex.nextSetBit(empty, 0)).isEqualTo(-1);
+        assertThat(CalendarIndex.nextClearBit(empty, 0)).isZero();
+        assertThat(CalendarIndex.intersects(empty, 0, MINUTES_PER_DAY)).isFalse();
+
+        final long[] full = new long[WORDS];
+        CalendarIndex.setRange(full, 0, MINUTES_PER_DAY);
+        assertThat(CalendarIndex.nextSetBit(full, 0)).isZero();
+        assertThat(CalendarIndex.nextClearBit(full, 0)).isEqualTo(MINUTES_PER_DAY);
+        assertThat(CalendarIndex.intersects(full, 0, 1)).isTrue();
+        assertThat(CalendarIndex.intersects(full, 1439, 1440)).isTrue();
+    }
+
+    @Test
+    void matchesBitSetOnRandomRanges() {
+        final Random random = new Random(42);
+        for (int round = 0; round < 2_000; round++) {
+            final long[] bits = new long[WORDS];
+            final BitSet expected = new BitSet();
+            for (int i = random.nextInt(6); i > 0; i--) {
+                final int from = random.nextInt(MINUTES_PER_DAY + 1);
+                final int to = from + random.nextInt(MINUTES_PER_DAY + 1 - from);
+                CalendarIndex.setRange(bits, from, to);
+                expected.set(from, to);
+            }
+            assertThat(BitSet.valueOf(bits)).isEqualTo(expected);
+
+            final int from = random.nextInt(MINUTES_PER_DAY + 1);
+            final int to = from + random.nextInt(MINUTES_PER_DAY + 1 - from);
+            assertThat(CalendarIndex.intersects(bits, from, to))
+                    .isEqualTo(expected.nextSetBit(from) >= 0 && expected.nextSetBit(from) < to);
+            assertThat(CalendarIndex.nextSetBit(bits, from)).isEqualTo(expected.nextSetBit(from));
+            assertThat(CalendarIndex.nextClearBit(bits, from)).isEqualTo(Math.min(expected.nextClearBit(from), MINUTES_PER_DAY));
+        }
+    }
+
+    @Test
+    void minutesRoundOutwards() {
+        assertThat(CalendarIndex.startMinute(LocalTime.of(9, 30, 59))).isEqualTo(570);
+        assertThat(CalendarIndex.endMinute(LocalTime.of(9, 30))).isEqualTo(570);
+        assertThat(CalendarIndex.endMinute(LocalTime.of(9, 30, 0, 1))).isEqualTo(571);
+        assertThat(CalendarIndex.endMinute(LocalTime.MAX)).isEqualTo(MINUTES_PER_DAY);
+    }
+}
@@ -0,0 +1,58 @@
+package com.hs.lab3.eventservice.service;
+
+import com.hs.lab3.eventservice.exceptions.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EventCursorTest {
+
+    @Test
+    void decodesWhatItEncodes() {
+        final EventCursor cursor = new EventCursor(LocalDate.of(2025, 1, 30), LocalTime.of(9, 30), 42);
+
+        assertThat(EventCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void keepsSecondsAndLargeIds() {
+        final EventCursor cursor = new EventCursor(LocalDate.of(1999, 12, 31), LocalTime.of(23, 59, 59, 999_000_000),
+                Long.MAX_VALUE);
+
+        assertThat(EventCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void encodesToUrlSafeStringWithoutPadding() {
+        final String encoded = new EventCursor(LocalDate.of(2025, 1, 30), LocalTime.MIDNIGHT, 1).encode();
+
+        assertThat(encoded).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+        assertInvalid("");
+        assertInvalid("not base64!");
+        assertInvalid(encode("2025-01-30|09:30"));
+        assertInvalid(encode("2025-01-30|09:30|42|7"));
+        assertInvalid(encode("2025-01-30|09:30|"));
+        assertInvalid(encode("2025-13-01|09:30|42"));
+        assertInvalid(encode("2025-01-30|25:00|42"));
+        assertInvalid(encode("2025-01-30|09:30|forty-two"));
+        assertInvalid(encode("2025-01-30|09:30|99999999999999999999"));
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void assertInvalid(String cursor) {
+        assertThatThrownBy(() -> EventCursor.decode(cursor)).isInstanceOf(InvalidCursorException.class);
+    }
+}
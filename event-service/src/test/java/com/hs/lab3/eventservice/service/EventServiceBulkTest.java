@@ -0,0 +1,165 @@
+package com.hs.lab3.eventservice.service;
+
+import com.hs.lab3.eventservice.dto.requests.CreateEventRequest;
+import com.hs.lab3.eventservice.dto.responses.BulkEventResultDto.Status;
+import com.hs.lab3.eventservice.entity.Event;
+import com.hs.lab3.eventservice.exceptions.BulkLimitExceededException;
+import com.hs.lab3.eventservice.repository.BusyTimeRepository;
+import com.hs.lab3.eventservice.repository.EventBatchRepository;
+import com.hs.lab3.eventservice.repository.EventRepository;
+import com.hs.lab3.eventservice.repository.EventStreamRepository;
+import com.hs.lab3.eventservice.service.EventService.BulkItemResult;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link EventService#addEvents} with the repositories stubbed: the in-request overlap sweep and which items
+ * reach the batch insert.
+ */
+class EventServiceBulkTest {
+    private static final LocalDate DAY = LocalDate.now().plusDays(1);
+    private static final long UNKNOWN_OWNER = 99L;
+
+    private final UserExistenceCache userExistenceCache = mock(UserExistenceCache.class);
+    private final EventBatchRepository eventBatchRepository = mock(EventBatchRepository.class);
+    private final List<Event> inserted = new ArrayList<>();
+    private final Set<LocalTime> storedStarts = new HashSet<>();
+    private EventService eventService;
+
+    @BeforeEach
+    void setUp() {
+        when(userExistenceCache.exists(any())).thenAnswer(call -> Mono.just(!call.getArgument(0).equals(UNKNOWN_OWNER)));
+        final AtomicLong ids = new AtomicLong();
+        when(eventBatchRepository.insertIgnoringOverlaps(anyList())).thenAnswer(call -> {
+            final List<Event> events = call.getArgument(0);
+            inserted.addAll(events);
+            return Flux.fromIterable(events)
+                    .filter(event -> !storedStarts.contains(event.getStartTime()))
+                    .doOnNext(event -> event.setId(ids.incrementAndGet()));
+        });
+        eventService = new EventService(mock(EventRepository.class), userExistenceCache,
+                mock(EventStreamRepository.class), eventBatchRepository, mock(BusyTimeRepository.class),
+                Optional.empty(), Validation.buildDefaultValidatorFactory().getValidator());
+    }
+
+    @Test
+    void touchingEventsAreAcceptedAndOverlappingOnesRejected() {
+        final List<BulkItemResult> results = addEvents(
+                event(1L, DAY, "09:00", "10:00"),
+                event(1L, DAY, "09:30", "10:30"),
+                event(1L, DAY, "10:00", "11:00"));
+
+        assertThat(statuses(results)).containsExactly(Status.CREATED, Status.CONFLICT, Status.CREATED);
+        assertThat(results.get(1).message()).isEqualTo("Overlaps another event in the request");
+        assertThat(inserted).hasSize(2);
+    }
+
+    @Test
+    void longEventBlocksEverythingItCoversRegardlessOfRequestOrder() {
+        final List<BulkItemResult> results = addEvents(
+                event(1L, DAY, "10:00", "11:00"),
+                event(1L, DAY, "08:00", "12:00"),
+                event(1L, DAY, "11:30", "11:45"),
+                event(1L, DAY, "12:00", "13:00"));
+
+        assertThat(statuses(results)).containsExactly(Status.CONFLICT, Status.CREATED, Status.CONFLICT, Status.CREATED);
+    }
+
+    @Test
+    void sameStartKeepsTheEarlierItem() {
+        final List<BulkItemResult> results = addEvents(
+                event(1L, DAY, "09:00", "09:30"),
+                event(1L, DAY, "09:00", "10:00"));
+
+        assertThat(statuses(results)).containsExactly(Status.CREATED, Status.CONFLICT);
+    }
+
+    @Test
+    void differentOwnersAndDatesDoNotConflict() {
+        final List<BulkItemResult> results = addEvents(
+                event(1L, DAY, "09:00", "10:00"),
+                event(2L, DAY, "09:00", "10:00"),
+                event(1L, DAY.plusDays(1), "09:00", "10:00"),
+                event(2L, DAY, "09:59", "10:30"));
+
+        assertThat(statuses(results)).containsExactly(Status.CREATED, Status.CREATED, Status.CREATED, Status.CONFLICT);
+    }
+
+    @Test
+    void invalidItemsAndUnknownOwnersDoNotTakePartInTheSweep() {
+        final List<BulkItemResult> results = addEvents(
+                new CreateEventRequest(" ", null, DAY, LocalTime.of(9, 0), LocalTime.of(10, 0), 1L),
+                event(1L, DAY, "11:00", "10:00"),
+                event(UNKNOWN_OWNER, DAY, "09:00", "10:00"),
+                event(1L, DAY, "09:00", "10:00"),
+                null);
+
+        assertThat(statuses(results)).containsExactly(
+                Status.INVALID, Status.INVALID, Status.OWNER_NOT_FOUND, Status.CREATED, Status.INVALID);
+        assertThat(results.get(0).message()).isEqualTo("name must not be blank");
+        assertThat(results.get(1).message()).isEqualTo("Invalid event time");
+        assertThat(inserted).extracting(Event::getOwnerId).containsExactly(1L);
+    }
+
+    @Test
+    void itemsRejectedByTheDatabaseAreConflicts() {
+        storedStarts.add(LocalTime.of(9, 0));
+
+        final List<BulkItemResult> results = addEvents(
+                event(1L, DAY, "09:00", "10:00"),
+                event(1L, DAY, "10:00", "11:00"));
+
+        assertThat(statuses(results)).containsExactly(Status.CONFLICT, Status.CREATED);
+        assertThat(results.get(0).message()).isEqualTo("User already has an event at this time");
+        assertThat(results.get(1).event().getId()).isNotNull();
+    }
+
+    @Test
+    void rejectsBatchesOverTheLimit() {
+        final List<CreateEventRequest> requests =
+                Collections.nCopies(EventService.MAX_BULK_SIZE + 1, event(1L, DAY, "09:00", "10:00"));
+
+        assertThatThrownBy(() -> eventService.addEvents(requests).block())
+                .isInstanceOf(BulkLimitExceededException.class);
+        verify(eventBatchRepository, never()).insertIgnoringOverlaps(anyList());
+    }
+
+    private List<BulkItemResult> addEvents(CreateEventRequest... requests) {
+        final List<BulkItemResult> results = eventService.addEvents(Arrays.asList(requests)).block();
+        assertThat(results).extracting(BulkItemResult::index).containsExactly(
+                IntStream.range(0, requests.length).boxed().toArray(Integer[]::new));
+        return results;
+    }
+
+    private static List<Status> statuses(List<BulkItemResult> results) {
+        return results.stream().map(BulkItemResult::status).toList();
+    }
+
+    private static CreateEventRequest event(Long ownerId, LocalDate date, String start, String end) {
+        return new CreateEventRequest("Meeting", null, date, LocalTime.parse(start), LocalTime.parse(end), ownerId);
+    }
+}
@@ -0,0 +1,71 @@
+package com.hs.lab3.gatewayservice.filter;
+
+import com.hs.lab3.gatewayservice.jwt.JwtVerifier;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+/**
+ * Verifies the bearer token once at the edge. Requests with an invalid token are rejected with 401,
+ * valid ones are forwarded with {@value #LOGIN_HEADER} and {@value #ROLES_HEADER}.
+ * Requests without a token pass through unchanged, the backend decides whether they are allowed.
+ * Identity headers sent by clients are always dropped.
+ */
+@Component
+@RequiredArgsConstructor
+public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
+    public static final String LOGIN_HEADER = "X-Auth-Login";
+    public static final String ROLES_HEADER = "X-Auth-Roles";
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtVerifier jwtVerifier;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        final String authorization = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+            return chain.filter(withIdentity(exchange, null, null));
+        }
+
+        final String token = authorization.substring(BEARER_PREFIX.length());
+        return jwtVerifier.verify(token)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(identity -> identity
+                        .map(verified -> chain.filter(withIdentity(exchange, verified.login(), verified.roles())))
+                        .orElseGet(() -> unauthorized(exchange)));
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 100;
+    }
+
+    private static Mono<Void> unauthorized(ServerWebExchange exchange) {
+        exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+        return exchange.getResponse().setComplete();
+    }
+
+    private static ServerWebExchange withIdentity(ServerWebExchange exchange, String login, String roles) {
+        final ServerHttpRequest request = exchange.getRequest().mutate()
+                .headers(headers -> {
+                    headers.remove(LOGIN_HEADER);
+                    headers.remove(ROLES_HEADER);
+                    if (login != null) {
+                        headers.set(LOGIN_HEADER, login);
+                        headers.set(ROLES_HEADER, roles);
+                    }
+                })
+                .build();
+        return exchange.mutate().request(request).build();
+    }
+}
@@ -0,0 +1,111 @@
+package com.hs.lab3.gatewayservice.jwt;
+
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Caches auth-service's published verification keys, one prebuilt parser per {@code kid}.
+ * The key set is re-fetched when it gets older than {@code jwks-ttl}, or when a token names an unknown
+ * {@code kid} (at most once per {@code jwks-min-refetch-interval}). Concurrent fetches are collapsed into one.
+ */
+@Slf4j
+@Component
+public class JwksKeyResolver {
+    private final WebClient webClient;
+    private final String jwksUri;
+    private final Duration ttl;
+    private final Duration minRefetchInterval;
+
+    private volatile KeySet keySet = new KeySet(Map.of(), Instant.EPOCH);
+    private final AtomicReference<Mono<KeySet>> inflight = new AtomicReference<>();
+
+    public JwksKeyResolver(
+            WebClient.Builder loadBalancedWebClientBuilder,
+            @Value("${gateway.jwt.jwks-uri:lb://auth-service/.well-known/jwks.json}") String jwksUri,
+            @Value("${gateway.jwt.jwks-ttl:PT5M}") Duration ttl,
+            @Value("${gateway.jwt.jwks-min-refetch-interval:PT30S}") Duration minRefetchInterval) {
+        this.webClient = loadBalancedWebClientBuilder.build();
+        this.jwksUri = jwksUri;
+        this.ttl = ttl;
+        this.minRefetchInterval = minRefetchInterval;
+    }
+
+    public Mono<JwtParser> resolve(String kid) {
+        final KeySet current = keySet;
+        final Instant now = Instant.now();
+        final JwtParser parser = current.parsers().get(kid);
+        if (parser != null && current.fetchedAt().plus(ttl).isAfter(now)) {
+            return Mono.just(parser);
+        }
+        if (parser == null && current.fetchedAt().plus(minRefetchInterval).isAfter(now)) {
+            return Mono.empty();
+        }
+        return reload()
+                .mapNotNull(fresh -> fresh.parsers().get(kid))
+                .onErrorResume(e -> {
+                    log.warn("Failed to fetch JWKS from {}", jwksUri, e);
+                    return Mono.justOrEmpty(parser);
+                });
+    }
+
+    private Mono<KeySet> reload() {
+        final Mono<KeySet> existing = inflight.get();
+        if (existing != null) {
+            return existing;
+        }
+        final Mono<KeySet> fetch = webClient.get()
+                .uri(jwksUri)
+                .retrieve()
+                .bodyToMono(JwkSet.class)
+                .map(JwksKeyResolver::toKeySet)
+                .doOnNext(fetched -> keySet = fetched)
+                .doFinally(signal -> inflight.set(null))
+                .cache();
+        return inflight.compareAndSet(null, fetch) ? fetch : reload();
+    }
+
+    private static KeySet toKeySet(JwkSet jwkSet) {
+        final Map<String, JwtParser> parsers = new HashMap<>();
+        for (Jwk jwk : jwkSet.keys()) {
+            if ("RSA".equals(jwk.kty()) && jwk.kid() != null) {
+                parsers.put(jwk.kid(), Jwts.parser().verifyWith(toPublicKey(jwk)).build());
+            }
+        }
+        return new KeySet(Map.copyOf(parsers), Instant.now());
+    }
+
+    private static PublicKey toPublicKey(Jwk jwk) {
+        try {
+            final Base64.Decoder decoder = Base64.getUrlDecoder();
+            return KeyFactory.getInstance("RSA").generatePublic(new RSAPublicKeySpec(
+                    new BigInteger(1, decoder.decode(jwk.n())),
+                    new BigInteger(1, decoder.decode(jwk.e()))));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Invalid JWK " + jwk.kid(), e);
+        }
+    }
+
+    private record KeySet(Map<String, JwtParser> parsers, Instant fetchedAt) {}
+
+    record JwkSet(List<Jwk> keys) {}
+
+    record Jwk(String kty, String kid, String n, String e) {}
+}
@@ -0,0 +1,120 @@
+package com.hs.lab3.gatewayservice.jwt;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Verifies access tokens against auth-service's JWKS. Verified tokens are remembered by digest until they expire,
+ * so a token is verified at most once per gateway instance. Revocation is checked on every request, cached or not.
+ */
+@Slf4j
+@Component
+public class JwtVerifier {
+    private static final ObjectMapper HEADER_READER = new ObjectMapper();
+
+    private final JwksKeyResolver keyResolver;
+    private final RevokedTokenPoller revokedTokens;
+    private final Cache<String, VerifiedIdentity> verified;
+
+    public JwtVerifier(
+            JwksKeyResolver keyResolver,
+            RevokedTokenPoller revokedTokens,
+            MeterRegistry meterRegistry,
+            @Value("${gateway.jwt.verified-cache.max-size:10000}") long maxSize) {
+        this.keyResolver = keyResolver;
+        this.revokedTokens = revokedTokens;
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(Expiry.creating((String digest, VerifiedIdentity identity) ->
+                        Duration.between(Instant.now(), identity.expiresAt())))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verified, "gateway.jwt.verified-tokens");
+    }
+
+    /**
+     * @return the identity of a valid token, or an empty mono if the token cannot be verified
+     */
+    public Mono<VerifiedIdentity> verify(String token) {
+        final String digest = digest(token);
+        final VerifiedIdentity cached = verified.getIfPresent(digest);
+        if (cached != null) {
+            return revokedTokens.isRevoked(cached.tokenId()) ? Mono.empty() : Mono.just(cached);
+        }
+        final String kid = readKeyId(token);
+        if (kid == null) {
+            return Mono.empty();
+        }
+        return keyResolver.resolve(kid)
+                .mapNotNull(parser -> {
+                    try {
+                        return toIdentity(parser.parseSignedClaims(token).getPayload());
+                    } catch (JwtException | IllegalArgumentException e) {
+                        log.debug("Rejected access token: {}", e.getMessage());
+                        return null;
+                    }
+                })
+                .doOnNext(identity -> verified.put(digest, identity))
+                .filter(identity -> !revokedTokens.isRevoked(identity.tokenId()));
+    }
+
+    private static VerifiedIdentity toIdentity(Claims claims) {
+        if (claims.getExpiration() == null || claims.getSubject() == null) {
+            return null;
+        }
+        return new VerifiedIdentity(claims.getId(), claims.getSubject(), roleNames(claims), claims.getExpiration().toInstant());
+    }
+
+    private static String roleNames(Claims claims) {
+        final Integer roleMask = claims.get("rm", Integer.class);
+        if (roleMask != null) {
+            return RoleMask.toRoleNames(roleMask);
+        }
+        final List<?> roles = claims.get("roles", List.class);
+        return roles == null ? "" : String.join(",", roles.stream().map(String::valueOf).toList());
+    }
+
+    private static String readKeyId(String token) {
+        final int dot = token.indexOf('.');
+        if (dot <= 0) {
+            return null;
+        }
+        try {
+            final JsonNode header = HEADER_READER.readTree(Base64.getUrlDecoder().decode(token.substring(0, dot)));
+            final JsonNode kid = header.get("kid");
+            return kid == null ? null : kid.asText();
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            final byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
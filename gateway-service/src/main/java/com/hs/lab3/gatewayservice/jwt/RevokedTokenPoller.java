@@ -0,0 +1,71 @@
+package com.hs.lab3.gatewayservice.jwt;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Mirror of auth-service's revoked access-token ids, replaced every {@code revoked-tokens-poll-interval}.
+ * A token revoked at logout is refused at the edge at most one interval later, even if its identity is cached.
+ * When a poll fails, the last known set stays in use. The endpoint is not public: the poller authenticates with the
+ * token shared with auth-service ({@code gateway.internal-token}).
+ */
+@Slf4j
+@Component
+public class RevokedTokenPoller implements DisposableBean {
+    private static final String INTERNAL_TOKEN = "X-Internal-Token";
+
+    private final WebClient webClient;
+    private final String revokedTokensUri;
+    private final String internalToken;
+    private final Disposable polling;
+
+    private volatile Set<String> revoked = Set.of();
+
+    public RevokedTokenPoller(
+            WebClient.Builder loadBalancedWebClientBuilder,
+            @Value("${gateway.jwt.revoked-tokens-uri:lb://auth-service/internal/revoked-access-tokens}") String revokedTokensUri,
+            @Value("${gateway.jwt.revoked-tokens-poll-interval:PT5S}") Duration pollInterval,
+            @Value("${gateway.internal-token:}") String internalToken) {
+        this.webClient = loadBalancedWebClientBuilder.build();
+        this.revokedTokensUri = revokedTokensUri;
+        this.internalToken = internalToken;
+        this.polling = Flux.interval(Duration.ZERO, pollInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> fetch())
+                .subscribe(tokenIds -> revoked = tokenIds);
+    }
+
+    public boolean isRevoked(String tokenId) {
+        return tokenId != null && revoked.contains(tokenId);
+    }
+
+    @Override
+    public void destroy() {
+        polling.dispose();
+    }
+
+    private Mono<Set<String>> fetch() {
+        return webClient.get()
+                .uri(revokedTokensUri)
+                .header(INTERNAL_TOKEN, internalToken)
+                .retrieve()
+                .bodyToMono(RevokedTokens.class)
+                .map(body -> body.tokenIds() == null ? Set.<String>of() : Set.copyOf(body.tokenIds()))
+                .onErrorResume(e -> {
+                    log.warn("Failed to fetch revoked access tokens from {}", revokedTokensUri, e);
+                    return Mono.empty();
+                });
+    }
+
+    record RevokedTokens(List<String> tokenIds) {}
+}
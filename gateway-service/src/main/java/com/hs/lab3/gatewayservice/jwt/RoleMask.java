@@ -0,0 +1,35 @@
+package com.hs.lab3.gatewayservice.jwt;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Decodes the access-token role mask issued by auth-service ({@code Role} bit positions there).
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class RoleMask {
+    private static final String[] ROLE_BY_BIT = {"VIEWER", "ADMIN", "REDACTOR", "LEAD"};
+    private static final String[] JOINED_BY_MASK = new String[1 << ROLE_BY_BIT.length];
+
+    static {
+        for (int mask = 0; mask < JOINED_BY_MASK.length; mask++) {
+            final StringBuilder joined = new StringBuilder();
+            for (int bit = 0; bit < ROLE_BY_BIT.length; bit++) {
+                if ((mask & (1 << bit)) != 0) {
+                    if (!joined.isEmpty()) {
+                        joined.append(',');
+                    }
+                    joined.append(ROLE_BY_BIT[bit]);
+                }
+            }
+            JOINED_BY_MASK[mask] = joined.toString();
+        }
+    }
+
+    /**
+     * @return comma-separated role names; unknown bits are ignored
+     */
+    static String toRoleNames(int mask) {
+        return JOINED_BY_MASK[mask & (JOINED_BY_MASK.length - 1)];
+    }
+}
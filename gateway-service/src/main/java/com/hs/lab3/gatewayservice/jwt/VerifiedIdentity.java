@@ -0,0 +1,13 @@
+package com.hs.lab3.gatewayservice.jwt;
+
+import java.time.Instant;
+
+/**
+ * Identity taken from a verified access token, forwarded to backends as trusted headers.
+ */
+public record VerifiedIdentity(
+        String tokenId,
+        String login,
+        String roles,
+        Instant expiresAt
+) {}
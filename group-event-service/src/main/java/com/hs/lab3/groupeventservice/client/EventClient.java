@@ -1,5 +1,6 @@
 package com.hs.lab3.groupeventservice.client;
 
+import com.hs.lab3.groupeventservice.dto.responses.BusyIntervalDto;
 import com.hs.lab3.groupeventservice.dto.responses.EventDto;
 import org.springframework.stereotype.Component;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -19,4 +20,11 @@ public interface EventClient {
             @RequestParam("startDate") String startDate,
             @RequestParam("endDate") String endDate
     );
+
+    @GetMapping("/api/v1/event/busy/merged")
+    Flux<BusyIntervalDto> getMergedBusyIntervalsForUsersBetweenDates(
+            @RequestParam("userIds") List<Long> userIds,
+            @RequestParam("startDate") String startDate,
+            @RequestParam("endDate") String endDate
+    );
 }
@@ -48,11 +48,12 @@ public class RecommendationService {
 
     @CircuitBreaker(name = "eventService", fallbackMethod = "fetchBusyIntervalsFallback")
     public Flux<TimeInterval> fetchBusyIntervals(List<Long> participantIds, String start, String end) {
-        return eventClient.getBusyEventsForUsersBetweenDates(participantIds, start, end).map(e -> new TimeInterval(e.date(), e.startTime(), e.endTime()));
+        return eventClient.getMergedBusyIntervalsForUsersBetweenDates(participantIds, start, end)
+                .map(b -> new TimeInterval(b.date(), b.startTime(), b.endTime()));
     }
 
     @SuppressWarnings("unused")
-    public Flux<TimeInterval> fetchBusyIntervalsFallback(List<Long> participantIds, LocalDate start, LocalDate end, Throwable t) {
+    public Flux<TimeInterval> fetchBusyIntervalsFallback(List<Long> participantIds, String start, String end, Throwable t) {
         return Flux.error(new EventServiceUnavailableException("Event-service unavailable, try later"));
     }
 
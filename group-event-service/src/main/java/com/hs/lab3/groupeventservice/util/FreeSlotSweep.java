@@ -0,0 +1,146 @@
+package com.hs.lab3.groupeventservice.util;
+
+import com.hs.lab3.groupeventservice.dto.responses.RecommendTimeSlotDto;
+import com.hs.lab3.groupeventservice.dto.responses.TimeInterval;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Primitive engine behind {@link SlotCalculator#findCommonFreeSlots}. Busy intervals are bucketed per day by a
+ * counting sort into flat arrays of nano-of-day values, then every day is merged with one sweep.
+ * <p>
+ * Starts and ends are sorted independently: with {@code start <= end} for every interval, a merged block ends
+ * at position {@code i} exactly when {@code starts[i + 1] > ends[i]}, and its end is {@code ends[i]}. That gives
+ * the same blocks as sorting the intervals by start and merging touching ones. Inputs the trick does not cover
+ * are left to the caller's fallback.
+ * <p>
+ * Not thread-safe, the buffers are reused between calls.
+ */
+final class FreeSlotSweep {
+    private static final long DAY_END = LocalTime.MAX.toNanoOfDay();
+    private static final long MAX_DAYS = Integer.MAX_VALUE - 8;
+    private static final int RETAINED_CAPACITY = 1 << 16;
+
+    private int[] dayOffsets = new int[0];
+    private long[] starts = new long[0];
+    private long[] ends = new long[0];
+
+    /**
+     * @return the free slots, or {@code null} if the input has to go through the legacy path: an interval with
+     * a {@code null} field or ending before it starts, or a period too long to index
+     */
+    List<RecommendTimeSlotDto> findFreeSlots(LocalDate periodStart,
+                                             LocalDate periodEnd,
+                                             List<TimeInterval> busyIntervals,
+                                             long minNanos) {
+        final long firstDay = periodStart.toEpochDay();
+        final long dayCount = periodEnd.toEpochDay() - firstDay + 1;
+        if (dayCount > MAX_DAYS) {
+            return null;
+        }
+        final int days = (int) dayCount;
+        final List<TimeInterval> busy = busyIntervals == null ? List.of() : busyIntervals;
+
+        final int[] offsets = offsets(days + 1);
+        int count = 0;
+        for (TimeInterval interval : busy) {
+            if (interval == null) {
+                continue;
+            }
+            if (interval.date() == null || interval.start() == null || interval.end() == null
+                    || interval.start().isAfter(interval.end())) {
+                return null;
+            }
+            final long day = interval.date().toEpochDay() - firstDay;
+            if (day >= 0 && day < days) {
+                offsets[(int) day + 1]++;
+                count++;
+            }
+        }
+        for (int day = 1; day <= days; day++) {
+            offsets[day] += offsets[day - 1];
+        }
+
+        ensureCapacity(count);
+        for (TimeInterval interval : busy) {
+            if (interval == null) {
+                continue;
+            }
+            final long day = interval.date().toEpochDay() - firstDay;
+            if (day >= 0 && day < days) {
+                final int position = offsets[(int) day]++;
+                starts[position] = interval.start().toNanoOfDay();
+                ends[position] = interval.end().toNanoOfDay();
+            }
+        }
+
+        // offsets[day] now points past the intervals of day, which start where the previous day's end
+        final List<RecommendTimeSlotDto> result = new ArrayList<>();
+        LocalDate date = periodStart;
+        for (int day = 0; day < days; day++, date = date.plusDays(1)) {
+            final int from = day == 0 ? 0 : offsets[day - 1];
+            final int to = offsets[day];
+            Arrays.sort(starts, from, to);
+            Arrays.sort(ends, from, to);
+            sweepDay(date, from, to, minNanos, result);
+        }
+
+        release();
+        return result;
+    }
+
+    private void sweepDay(LocalDate date, int from, int to, long minNanos, List<RecommendTimeSlotDto> result) {
+        long cursor = 0;
+        int i = from;
+        while (i < to) {
+            final long blockStart = starts[i];
+            while (i + 1 < to && starts[i + 1] <= ends[i]) {
+                i++;
+            }
+            final long blockEnd = ends[i++];
+
+            if (blockStart > cursor && blockStart - cursor >= minNanos) {
+                result.add(new RecommendTimeSlotDto(date, LocalTime.ofNanoOfDay(cursor), LocalTime.ofNanoOfDay(blockStart)));
+            }
+            if (blockEnd > cursor) {
+                cursor = blockEnd;
+            }
+        }
+        if (cursor < DAY_END && DAY_END - cursor >= minNanos) {
+            result.add(new RecommendTimeSlotDto(date, LocalTime.ofNanoOfDay(cursor), LocalTime.MAX));
+        }
+    }
+
+    private int[] offsets(int size) {
+        if (dayOffsets.length < size) {
+            dayOffsets = new int[size];
+        } else {
+            Arrays.fill(dayOffsets, 0, size, 0);
+        }
+        return dayOffsets;
+    }
+
+    private void ensureCapacity(int count) {
+        if (starts.length < count) {
+            starts = new long[count];
+            ends = new long[count];
+        }
+    }
+
+    /**
+     * Keeps the buffers for the next call unless an unusually large request has grown them.
+     */
+    private void release() {
+        if (starts.length > RETAINED_CAPACITY) {
+            starts = new long[0];
+            ends = new long[0];
+        }
+        if (dayOffsets.length > RETAINED_CAPACITY) {
+            dayOffsets = new int[0];
+        }
+    }
+}
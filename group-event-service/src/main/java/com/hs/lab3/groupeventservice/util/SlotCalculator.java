@@ -12,10 +12,16 @@ import java.util.*;
 import java.util.stream.Collectors;
 
 public final class SlotCalculator {
+    private static final ThreadLocal<FreeSlotSweep> SWEEP = ThreadLocal.withInitial(FreeSlotSweep::new);
 
     private SlotCalculator() {
     }
 
+    /**
+     * Free time of the whole group per day of the period, gaps shorter than {@code minDuration} left out.
+     * Computed by {@link FreeSlotSweep}; inputs it does not handle take the original implementation,
+     * {@link #findCommonFreeSlotsLegacy}, which defines the expected result.
+     */
     public static List<RecommendTimeSlotDto> findCommonFreeSlots(
             LocalDate periodStart,
             LocalDate periodEnd,
@@ -23,6 +29,29 @@ public final class SlotCalculator {
             Duration minDuration
     ) {
         if (periodEnd.isBefore(periodStart)) throw new IllegalArgumentException("periodEnd < periodStart");
+        if (minDuration != null) {
+            final long minNanos;
+            try {
+                minNanos = minDuration.toNanos();
+            } catch (ArithmeticException e) {
+                return findCommonFreeSlotsLegacy(periodStart, periodEnd, busyIntervals, minDuration);
+            }
+            final List<RecommendTimeSlotDto> slots =
+                    SWEEP.get().findFreeSlots(periodStart, periodEnd, busyIntervals, minNanos);
+            if (slots != null) {
+                return slots;
+            }
+        }
+        return findCommonFreeSlotsLegacy(periodStart, periodEnd, busyIntervals, minDuration);
+    }
+
+    static List<RecommendTimeSlotDto> findCommonFreeSlotsLegacy(
+            LocalDate periodStart,
+            LocalDate periodEnd,
+            List<TimeInterval> busyIntervals,
+            Duration minDuration
+    ) {
+        if (periodEnd.isBefore(periodStart)) throw new IllegalArgumentException("periodEnd < periodStart");
 
         List<RecommendTimeSlotDto> result = new ArrayList<>();
         Map<LocalDate, List<TimeInterval>> byDate = Optional.ofNullable(busyIntervals).orElse(List.of())
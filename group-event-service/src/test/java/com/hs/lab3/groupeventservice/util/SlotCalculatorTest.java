@@ -0,0 +1,135 @@
+package com.hs.lab3.groupeventservice.util;
+
+import com.hs.lab3.groupeventservice.dto.responses.RecommendTimeSlotDto;
+import com.hs.lab3.groupeventservice.dto.responses.TimeInterval;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Differential tests: the sweep engine must return exactly what the original implementation returns.
+ */
+class SlotCalculatorTest {
+    private static final LocalDate START = LocalDate.of(2025, 1, 30);
+    private static final long NANOS_PER_DAY = LocalTime.MAX.toNanoOfDay() + 1;
+
+    @Test
+    void matchesLegacyOnRandomCalendars() {
+        final Random random = new Random(42);
+        for (int round = 0; round < 5_000; round++) {
+            final int days = 1 + random.nextInt(10);
+            final List<TimeInterval> busy = randomIntervals(random, days, random.nextInt(60));
+            final Duration minDuration = randomDuration(random);
+
+            assertSameResult(START, START.plusDays(days - 1), busy, minDuration);
+        }
+    }
+
+    @Test
+    void matchesLegacyOnMultiMonthPeriodForLargeGroup() {
+        final Random random = new Random(7);
+        final List<TimeInterval> busy = randomIntervals(random, 120, 300 * 120);
+
+        assertSameResult(START, START.plusDays(119), busy, Duration.ofMinutes(30));
+    }
+
+    @Test
+    void matchesLegacyOnEdgeCases() {
+        final LocalTime nine = LocalTime.of(9, 0);
+        final LocalTime ten = LocalTime.of(10, 0);
+
+        assertSameResult(START, START, null, Duration.ofMinutes(30));
+        assertSameResult(START, START, List.of(), Duration.ZERO);
+        assertSameResult(START, START, Arrays.asList(null, new TimeInterval(START, nine, ten)), Duration.ofHours(1));
+        // touching, nested, empty and whole-day intervals
+        assertSameResult(START, START.plusDays(1), List.of(
+                new TimeInterval(START, nine, ten),
+                new TimeInterval(START, ten, LocalTime.of(11, 0)),
+                new TimeInterval(START, LocalTime.of(9, 30), LocalTime.of(9, 45)),
+                new TimeInterval(START, LocalTime.of(12, 0), LocalTime.of(12, 0)),
+                new TimeInterval(START, LocalTime.MIN, LocalTime.MIN),
+                new TimeInterval(START.plusDays(1), LocalTime.MIN, LocalTime.MAX)), Duration.ZERO);
+        // sub-minute precision and intervals outside the period
+        assertSameResult(START, START, List.of(
+                new TimeInterval(START, LocalTime.of(9, 0, 0, 1), LocalTime.of(9, 0, 59)),
+                new TimeInterval(START.minusDays(1), nine, ten),
+                new TimeInterval(START.plusDays(1), nine, ten)), Duration.ofNanos(1));
+        // exact, negative and unrepresentable minimum durations
+        assertSameResult(START, START, List.of(new TimeInterval(START, nine, ten)), Duration.ofHours(9));
+        assertSameResult(START, START, List.of(new TimeInterval(START, nine, ten)), Duration.ofHours(-1));
+        assertSameResult(START, START, List.of(new TimeInterval(START, nine, ten)), Duration.ofDays(365L * 1000));
+        // inverted intervals take the legacy path
+        assertSameResult(START, START, List.of(
+                new TimeInterval(START, ten, nine),
+                new TimeInterval(START, LocalTime.of(9, 30), LocalTime.of(11, 0))), Duration.ZERO);
+    }
+
+    @Test
+    void failsLikeLegacy() {
+        final List<TimeInterval> withoutDate = List.of(new TimeInterval(null, LocalTime.NOON, LocalTime.MAX));
+
+        assertThatThrownBy(() -> SlotCalculator.findCommonFreeSlots(START, START.minusDays(1), List.of(), Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SlotCalculator.findCommonFreeSlots(START, START, withoutDate, Duration.ZERO))
+                .isInstanceOf(NullPointerException.class);
+        assertThatThrownBy(() -> SlotCalculator.findCommonFreeSlotsLegacy(START, START, withoutDate, Duration.ZERO))
+                .isInstanceOf(NullPointerException.class);
+        assertThatThrownBy(() -> SlotCalculator.findCommonFreeSlots(START, START, List.of(), null))
+                .isInstanceOf(NullPointerException.class);
+        assertThatThrownBy(() -> SlotCalculator.findCommonFreeSlotsLegacy(START, START, List.of(), null))
+                .isInstanceOf(NullPointerException.class);
+    }
+
+    private static void assertSameResult(LocalDate periodStart, LocalDate periodEnd,
+                                         List<TimeInterval> busy, Duration minDuration) {
+        final List<RecommendTimeSlotDto> expected =
+                SlotCalculator.findCommonFreeSlotsLegacy(periodStart, periodEnd, busy, minDuration);
+
+        assertThat(SlotCalculator.findCommonFreeSlots(periodStart, periodEnd, busy, minDuration))
+                .isEqualTo(expected);
+    }
+
+    /**
+     * Mostly whole minutes, like the API produces, with some second and nanosecond precision mixed in.
+     * Dates spill one day over both ends of the period.
+     */
+    private static List<TimeInterval> randomIntervals(Random random, int days, int count) {
+        final List<TimeInterval> intervals = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final LocalDate date = START.plusDays(random.nextInt(days + 2) - 1);
+            final long start = randomTime(random);
+            final long end = random.nextInt(10) == 0 ? start : Math.min(NANOS_PER_DAY - 1, start + randomLength(random));
+            intervals.add(new TimeInterval(date, LocalTime.ofNanoOfDay(start), LocalTime.ofNanoOfDay(end)));
+        }
+        return intervals;
+    }
+
+    private static long randomTime(Random random) {
+        return switch (random.nextInt(10)) {
+            case 0 -> (long) random.nextInt(86_400) * 1_000_000_000L;
+            case 1 -> Math.floorMod(random.nextLong(), NANOS_PER_DAY);
+            default -> (long) random.nextInt(24 * 4) * Duration.ofMinutes(15).toNanos();
+        };
+    }
+
+    private static long randomLength(Random random) {
+        return (1 + random.nextInt(16)) * Duration.ofMinutes(15).toNanos() + (random.nextBoolean() ? 0 : random.nextInt(1_000));
+    }
+
+    private static Duration randomDuration(Random random) {
+        return switch (random.nextInt(6)) {
+            case 0 -> Duration.ZERO;
+            case 1 -> Duration.ofSeconds(random.nextInt(7200), random.nextInt(1_000_000_000));
+            default -> Duration.ofMinutes(15L * random.nextInt(12));
+        };
+    }
+}
@@ -0,0 +1,44 @@
+#!/usr/bin/env sh
+# Compares service startup times of the default images with the FAST_START (Spring AOT + AppCDS) images.
+# Usage: ./startup-report.sh [output-file]    (needs Docker Compose v2, takes a few minutes)
+#
+# FAST_START=true images run from the extracted jar with an AppCDS archive. Each Dockerfile records the archive
+# with a training start that stops right after the context refresh (spring.context.exit=onRefresh), with
+# everything outside the container switched off by its CDS_TRAINING_OPTS. A failing training run fails the image
+# build, since an archive of a broken start would skew every startup measured with it.
+set -eu
+
+OUTPUT="${1:-startup-report.md}"
+SERVICES="config-server eureka-server auth-service user-service event-service group-event-service gateway-service"
+RESULTS="$(mktemp)"
+trap 'rm -f "$RESULTS"' EXIT
+
+# "Started UserServiceApplication in 7.912 seconds (process running for 8.6)" -> 8.6
+startup_seconds() {
+    docker compose logs --no-color "$1" \
+        | sed -n 's/.*Started .* in [0-9.]* seconds (process running for \([0-9.]*\)).*/\1/p' \
+        | tail -n 1
+}
+
+for mode in false true; do
+    echo "Building and starting services with FAST_START=$mode" >&2
+    FAST_START="$mode" docker compose build
+    FAST_START="$mode" docker compose up -d --wait
+    for service in $SERVICES; do
+        echo "$service $mode $(startup_seconds "$service")" >> "$RESULTS"
+    done
+    docker compose down
+done
+
+{
+    echo "| Service | Default, s | Fast start, s | Change |"
+    echo "|---|---:|---:|---:|"
+    for service in $SERVICES; do
+        default=$(awk -v s="$service" '$1 == s && $2 == "false" { print $3 }' "$RESULTS")
+        fast=$(awk -v s="$service" '$1 == s && $2 == "true" { print $3 }' "$RESULTS")
+        change=$(awk -v d="${default:-0}" -v f="${fast:-0}" 'BEGIN { if (d > 0 && f > 0) printf "%+.0f%%", (f - d) / d * 100; else print "n/a" }')
+        echo "| $service | ${default:-n/a} | ${fast:-n/a} | $change |"
+    done
+} > "$OUTPUT"
+
+cat "$OUTPUT"